@@ -0,0 +1,114 @@
+package com.ft.searchengine.batch;
+
+import com.ft.searchengine.entity.Job;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Reads one id range of the sync window with keyset paging ({@code id > lastId}), so every page
+ * costs the same no matter how far into the table it is. Skills come back in the same statement as
+ * an array column instead of one lazy {@code job_skills} select per job.
+ * <p>
+ * The last id handed out is saved in the step execution context, so a restarted partition resumes
+ * where it stopped. Not thread-safe: each partition gets its own step-scoped instance.
+ */
+public class JobKeysetItemReader implements ItemStreamReader<Job> {
+
+    private static final String LAST_ID_KEY = "jobKeysetReader.lastId";
+
+    // Shared with JobOutboxDrainer, which reads the same columns for the ids it was told about
+    static final String SELECT_JOBS =
+            "SELECT j.id, j.title, j.company, j.description, j.location, j.min_salary, j.max_salary, " +
+            "       j.experience_level, j.posted_date, j.is_active, j.job_url, j.updated_at, " +
+            "       ARRAY(SELECT s.skill FROM job_skills s WHERE s.job_id = j.id) AS skills " +
+            "FROM jobs j ";
+
+    private static final String PAGE = SELECT_JOBS +
+            "WHERE j.id > ? AND j.id <= ? AND j.updated_at > ? AND j.updated_at <= ? " +
+            "ORDER BY j.id LIMIT ?";
+
+    static final RowMapper<Job> JOB_ROW_MAPPER = (rs, rowNum) -> {
+        Job job = new Job();
+        job.setId(rs.getLong("id"));
+        job.setTitle(rs.getString("title"));
+        job.setCompany(rs.getString("company"));
+        job.setDescription(rs.getString("description"));
+        job.setLocation(rs.getString("location"));
+        job.setMinSalary(rs.getObject("min_salary", Integer.class));
+        job.setMaxSalary(rs.getObject("max_salary", Integer.class));
+        job.setExperienceLevel(rs.getString("experience_level"));
+        job.setPostedDate(toLocalDateTime(rs.getTimestamp("posted_date")));
+        job.setIsActive(rs.getBoolean("is_active"));
+        job.setJobUrl(rs.getString("job_url"));
+        job.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        Array skills = rs.getArray("skills");
+        job.setSkills(skills == null ? List.of() : Arrays.asList((String[]) skills.getArray()));
+        return job;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxId;
+    private final Timestamp since;
+    private final Timestamp until;
+    private final int pageSize;
+
+    private final Deque<Job> page = new ArrayDeque<>();
+    private long lastId;
+    private boolean exhausted;
+
+    public JobKeysetItemReader(JdbcTemplate jdbcTemplate, long minId, long maxId,
+                               LocalDateTime since, LocalDateTime until, int pageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxId = maxId;
+        this.since = Timestamp.valueOf(since);
+        this.until = Timestamp.valueOf(until);
+        this.pageSize = pageSize;
+        this.lastId = minId - 1;
+    }
+
+    @Override
+    public Job read() {
+        if (page.isEmpty() && !exhausted) {
+            List<Job> jobs = jdbcTemplate.query(PAGE, JOB_ROW_MAPPER, lastId, maxId, since, until, pageSize);
+            page.addAll(jobs);
+            exhausted = jobs.size() < pageSize;
+        }
+
+        Job job = page.poll();
+        if (job != null) {
+            lastId = job.getId();
+        }
+        return job;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        if (executionContext.containsKey(LAST_ID_KEY)) {
+            lastId = executionContext.getLong(LAST_ID_KEY);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        executionContext.putLong(LAST_ID_KEY, lastId);
+    }
+
+    @Override
+    public void close() {
+        page.clear();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,205 @@
+package com.ft.searchengine.batch;
+
+import com.ft.searchengine.document.JobDocument;
+import com.ft.searchengine.entity.Job;
+import com.ft.searchengine.repository.JobOutboxRepository;
+import com.ft.searchengine.service.JobBulkIndexer;
+import com.ft.searchengine.service.JobIndexManager;
+import com.ft.searchengine.service.JobSearchService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Near-real-time indexing: moves jobs queued in {@code job_outbox} into Elasticsearch within
+ * about a second of their commit, instead of waiting for the next sync run.
+ * <p>
+ * Each poll claims the oldest entries with {@code FOR UPDATE SKIP LOCKED}, reads those jobs as they
+ * are now, bulk-indexes them (inactive or deleted jobs are removed), and deletes the entries, all
+ * in one transaction. If indexing fails, or does not finish within
+ * {@code jobseek.outbox.index-time-limit}, the transaction rolls back and the entries are retried on
+ * the next poll; the limit keeps a busy cluster from holding the claimed rows and their locks open. Documents Elasticsearch rejects are logged and dropped from the outbox; the
+ * scheduled sync still picks them up by their watermark. The search cache is cleared at most once
+ * per {@code jobseek.outbox.cache-clear-interval-ms}, so busy write periods do not keep it empty;
+ * writes inside an interval get their clear when it ends. Each job is drained by one node at a
+ * time, so its documents reach the index in the order they were read.
+ * <p>
+ * During a reindex the generation being loaded has not been promoted yet, so writes to the alias
+ * alone would be missing from it once it replaces the live index. While
+ * {@link JobIndexManager#reindexing()} is true, each batch is written to the new generation first
+ * and to the alias second: if the promotion happens between the two writes, the second one reaches
+ * the new generation through the alias.
+ */
+@Component
+@Slf4j
+public class JobOutboxDrainer {
+
+    private static final String SELECT_BY_IDS = JobKeysetItemReader.SELECT_JOBS + "WHERE j.id = ANY(?)";
+
+    @Autowired
+    private JobOutboxRepository jobOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobBulkIndexer jobBulkIndexer;
+
+    @Autowired
+    private ItemProcessor<Job, JobDocument> jobProcessor;
+
+    @Autowired
+    private JobSearchService jobSearchService;
+
+    @Autowired
+    private JobIndexManager jobIndexManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${jobseek.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${jobseek.outbox.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${jobseek.outbox.cache-clear-interval-ms:10000}")
+    private long cacheClearIntervalMs;
+
+    @Value("${jobseek.outbox.index-time-limit:10s}")
+    private Duration indexTimeLimit;
+
+    private TransactionTemplate transactionTemplate;
+    private long lastCacheClear;
+    private boolean cacheClearPending;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Bounded per poll so a large import backlog does not hold a scheduler thread indefinitely
+    @Scheduled(fixedDelayString = "${jobseek.outbox.poll-interval-ms:1000}")
+    public void drain() {
+        int total = 0;
+        try {
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                Integer drained = transactionTemplate.execute(status -> drainBatch());
+                total += drained == null ? 0 : drained;
+                if (drained == null || drained < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox drain failed, retrying on the next poll: {}", e.getMessage());
+        }
+
+        if (total > 0) {
+            log.debug("Indexed {} outbox entries", total);
+            cacheClearPending = true;
+        }
+        clearSearchCacheThrottled();
+    }
+
+    private int drainBatch() {
+        List<JobOutboxRepository.Entry> entries = jobOutboxRepository.claim(batchSize);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> jobIds = new LinkedHashSet<>();
+        for (JobOutboxRepository.Entry entry : entries) {
+            jobIds.add(entry.jobId());
+        }
+        Map<Long, Job> jobs = load(jobIds);
+
+        List<JobDocument> upserts = new ArrayList<>();
+        List<String> deleteIds = new ArrayList<>();
+        for (Long jobId : jobIds) {
+            Job job = jobs.get(jobId);
+            if (job == null || Boolean.FALSE.equals(job.getIsActive())) {
+                deleteIds.add(jobId.toString());
+            } else {
+                upserts.add(toDocument(job));
+            }
+        }
+
+        try {
+            long deadline = System.currentTimeMillis() + indexTimeLimit.toMillis();
+            if (jobIndexManager.reindexing()) {
+                // If the generation was promoted or discarded since the check, its items are rejected (404)
+                // and the write to the alias below still covers them
+                write(jobIndexManager.reindexAlias(), upserts, deleteIds, deadline);
+            }
+            write(jobIndexManager.alias(), upserts, deleteIds, deadline);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        jobOutboxRepository.delete(entries.stream().map(JobOutboxRepository.Entry::id).toList());
+        return entries.size();
+    }
+
+    private void write(String alias, List<JobDocument> upserts, List<String> deleteIds, long deadline)
+            throws IOException {
+        Duration timeLimit = Duration.ofMillis(Math.max(0, deadline - System.currentTimeMillis()));
+        JobBulkIndexer.BulkResult result = jobBulkIndexer.indexAlias(alias, upserts, deleteIds, timeLimit);
+        for (JobBulkIndexer.ItemFailure failure : result.failures()) {
+            log.warn("Elasticsearch rejected job {} in {} ({}): {}", failure.id(), alias, failure.status(), failure.reason());
+        }
+    }
+
+    private Map<Long, Job> load(Set<Long> jobIds) {
+        List<Job> rows = jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_BY_IDS);
+            ps.setArray(1, connection.createArrayOf("bigint", jobIds.toArray()));
+            return ps;
+        }, JobKeysetItemReader.JOB_ROW_MAPPER);
+
+        Map<Long, Job> jobs = new HashMap<>();
+        for (Job job : rows) {
+            jobs.put(job.getId(), job);
+        }
+        return jobs;
+    }
+
+    private JobDocument toDocument(Job job) {
+        try {
+            return jobProcessor.process(job);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not convert job " + job.getId(), e);
+        }
+    }
+
+    // A write inside the interval leaves the clear pending, so a later poll still clears after the last write
+    private void clearSearchCacheThrottled() {
+        long now = System.currentTimeMillis();
+        if (cacheClearPending && now - lastCacheClear >= cacheClearIntervalMs) {
+            lastCacheClear = now;
+            cacheClearPending = false;
+            jobSearchService.clearCache();
+        }
+    }
+
+    public long pending() {
+        return jobOutboxRepository.pending();
+    }
+}
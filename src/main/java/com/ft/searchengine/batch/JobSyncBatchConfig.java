@@ -4,42 +4,90 @@ package com.ft.searchengine.batch;
 
 import com.ft.searchengine.document.JobDocument;
 import com.ft.searchengine.entity.Job;
-import com.ft.searchengine.repository.JobSearchRepository;
-import jakarta.persistence.EntityManagerFactory;
+import com.ft.searchengine.service.JobBulkIndexer;
+import com.ft.searchengine.skill.SkillDictionaryService;
 import lombok.extern.slf4j.Slf4j;
 //import org.springframework.batch.core;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.database.JpaPagingItemReader;
-import org.springframework.batch.item.database.builder.JpaPagingItemReaderBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @Slf4j
 public class JobSyncBatchConfig {
 
+    public static final String SYNC_STEP = "syncJobsStep";
+
+    @Autowired
+    private JobBulkIndexer jobBulkIndexer;
+
+    @Autowired
+    private SkillDictionaryService skillDictionaryService;
+
+    @Autowired
+    private SyncWatermarkListener syncWatermarkListener;
+
     @Autowired
-    private EntityManagerFactory entityManagerFactory;
+    private ReindexListener reindexListener;
 
     @Autowired
-    private JobSearchRepository jobSearchRepository;
+    private SearchCacheInvalidationListener searchCacheInvalidationListener;
 
+    @Autowired
+    private SyncLockListener syncLockListener;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${jobseek.sync.partitions:4}")
+    private int partitions;
 
+    @Value("${jobseek.sync.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${jobseek.indexing.max-item-failures:1000}")
+    private long maxItemFailures;
+
+
+    // Splits the window chosen by SyncWatermarkListener into id ranges, one per worker
     @Bean
-    public JpaPagingItemReader<Job> jobReader() {
-        return new JpaPagingItemReaderBuilder<Job>()
-                .name("jobReader")
-                .entityManagerFactory(entityManagerFactory)
-                .queryString("SELECT j FROM Job j WHERE j.isActive = true")
-                .pageSize(100)
-                .build();
+    @StepScope
+    public JobIdRangePartitioner jobIdRangePartitioner(
+            @Value("#{jobExecutionContext['" + SyncWatermarkListener.SINCE_KEY + "']}") String since,
+            @Value("#{jobExecutionContext['" + SyncWatermarkListener.UNTIL_KEY + "']}") String until) {
+        return new JobIdRangePartitioner(jdbcTemplate, LocalDateTime.parse(since), LocalDateTime.parse(until));
+    }
+
+
+    // Reads every row of one partition changed inside the window, active or not
+    @Bean
+    @StepScope
+    public JobKeysetItemReader jobReader(
+            @Value("#{stepExecutionContext['" + JobIdRangePartitioner.MIN_ID_KEY + "']}") Long minId,
+            @Value("#{stepExecutionContext['" + JobIdRangePartitioner.MAX_ID_KEY + "']}") Long maxId,
+            @Value("#{jobExecutionContext['" + SyncWatermarkListener.SINCE_KEY + "']}") String since,
+            @Value("#{jobExecutionContext['" + SyncWatermarkListener.UNTIL_KEY + "']}") String until) {
+        return new JobKeysetItemReader(jdbcTemplate, minId, maxId,
+                LocalDateTime.parse(since), LocalDateTime.parse(until), chunkSize);
     }
 
 
@@ -53,7 +101,8 @@ public class JobSyncBatchConfig {
             doc.setTitle(job.getTitle());
             doc.setCompany(job.getCompany());
             doc.setDescription(job.getDescription());
-            doc.setSkills(job.getSkills());
+            // Rows imported before the dictionary existed get canonical skill names on their way into the index
+            doc.setSkills(skillDictionaryService.current().normalize(job.getSkills()));
             doc.setLocation(job.getLocation());
             doc.setMinSalary(job.getMinSalary());
             doc.setMaxSalary(job.getMaxSalary());
@@ -66,23 +115,78 @@ public class JobSyncBatchConfig {
     }
 
 
+    // Active jobs are (re)indexed, jobs that were closed since the last run are removed from the index.
+    // Documents Elasticsearch rejects are counted as write skips instead of failing the chunk.
+    // A reindex run writes into its new generation, every other run through the alias.
     @Bean
-    public ItemWriter<JobDocument> jobWriter() {
+    @StepScope
+    public ItemWriter<JobDocument> jobWriter(
+            @Value("#{jobExecutionContext['" + ReindexListener.TARGET_INDEX_KEY + "']}") String targetIndex) {
+        String index = targetIndex != null ? targetIndex : jobBulkIndexer.indexName();
         return items -> {
-            log.info("Writing {} jobs to Elasticsearch", items.size());
-            jobSearchRepository.saveAll(items);
+            List<JobDocument> active = new ArrayList<>();
+            List<String> inactiveIds = new ArrayList<>();
+            for (JobDocument doc : items) {
+                if (Boolean.FALSE.equals(doc.getIsActive())) {
+                    inactiveIds.add(doc.getId());
+                } else {
+                    active.add(doc);
+                }
+            }
+
+            JobBulkIndexer.BulkResult result = jobBulkIndexer.index(index, active, inactiveIds);
+            log.info("Indexed {} and removed {} jobs in {}ms", result.indexed(), result.deleted(), result.tookMs());
+
+            if (!result.failures().isEmpty()) {
+                recordFailures(result.failures());
+            }
         };
     }
 
 
+    private void recordFailures(List<JobBulkIndexer.ItemFailure> failures) {
+        for (JobBulkIndexer.ItemFailure failure : failures) {
+            log.warn("Elasticsearch rejected job {} ({}): {}", failure.id(), failure.status(), failure.reason());
+        }
+
+        StepContext context = StepSynchronizationManager.getContext();
+        if (context == null) {
+            return;
+        }
+        StepExecution stepExecution = context.getStepExecution();
+        stepExecution.setWriteSkipCount(stepExecution.getWriteSkipCount() + failures.size());
+
+        if (stepExecution.getWriteSkipCount() > maxItemFailures) {
+            throw new IllegalStateException("Elasticsearch rejected " + stepExecution.getWriteSkipCount()
+                    + " jobs in " + stepExecution.getStepName() + ", more than the allowed " + maxItemFailures);
+        }
+    }
+
+
     @Bean
-    public Step syncJobsStep(JobRepository jobRepository,
-                             PlatformTransactionManager transactionManager) {
-        return new StepBuilder("syncJobsStep", jobRepository)
-                .<Job, JobDocument>chunk(100, transactionManager)
-                .reader(jobReader())
+    public Step syncJobsWorkerStep(JobRepository jobRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   JobKeysetItemReader jobReader) {
+        return new StepBuilder("syncJobsWorkerStep", jobRepository)
+                .<Job, JobDocument>chunk(chunkSize, transactionManager)
+                .reader(jobReader)
                 .processor(jobProcessor())
-                .writer(jobWriter())
+                .writer(jobWriter(null))
+                .build();
+    }
+
+
+    // Runs the worker step once per id range, in parallel on the sync executor
+    @Bean
+    public Step syncJobsStep(JobRepository jobRepository,
+                             Step syncJobsWorkerStep,
+                             JobIdRangePartitioner jobIdRangePartitioner,
+                             @Qualifier("syncTaskExecutor") TaskExecutor syncTaskExecutor) {
+        return new StepBuilder(SYNC_STEP, jobRepository)
+                .partitioner("syncJobsWorkerStep", jobIdRangePartitioner)
+                .step(syncJobsWorkerStep)
+                .gridSize(partitions)
+                .taskExecutor(syncTaskExecutor)
                 .build();
     }
 
@@ -91,6 +195,10 @@ public class JobSyncBatchConfig {
     public org.springframework.batch.core.Job syncJobsToElasticsearch(JobRepository jobRepository,
                                        Step syncJobsStep) {
         return new JobBuilder("syncJobsToElasticsearch", jobRepository)
+                .listener(syncLockListener)
+                .listener(searchCacheInvalidationListener)
+                .listener(syncWatermarkListener)
+                .listener(reindexListener)
                 .start(syncJobsStep)
                 .build();
     }
@@ -1,48 +1,44 @@
 package com.ft.searchengine.batch;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.batch.core.Job;
-import org.springframework.batch.core.JobParameters;
-import org.springframework.batch.core.JobParametersBuilder;
-import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
 @Component
 @Slf4j
 public class JobSyncScheduler {
 
     @Autowired
-    private JobLauncher jobLauncher;
+    private SyncLauncher syncLauncher;
 
-    @Autowired
-    private Job syncJobsToElasticsearch;
+    @Value("${jobseek.sync.interval-ms:3600000}")
+    private long intervalMs;
 
-//    // Run every hour (3600000 milliseconds = 1 hour)
-    @Scheduled(fixedRate = 3600000)
-    //  every 2 minutes for testing (120000 milliseconds)
-//    @Scheduled(fixedRate = 120000)
+    // Launches return as soon as the run is queued, so a fixed delay would count from the launch, not the
+    // end of the run. The scheduler polls instead and starts a sync once the last one ended long enough ago.
+    // Every node polls; the sync lock lets only one of them run it.
+    @Scheduled(fixedDelayString = "${jobseek.sync.check-interval-ms:60000}")
     public void scheduledSync() {
         try {
-            log.info("Scheduled sync starting...");
-
-            JobParameters params = new JobParametersBuilder()
-                    .addLong("time", System.currentTimeMillis())
-                    .toJobParameters();
-
-            jobLauncher.run(syncJobsToElasticsearch, params);
-
-            log.info("Scheduled sync completed successfully!");
-
+            if (syncLauncher.isRunning()) {
+                return;
+            }
+            Optional<LocalDateTime> lastEnd = syncLauncher.lastEndTime();
+            if (lastEnd.isPresent() && LocalDateTime.now().isBefore(lastEnd.get().plus(intervalMs, ChronoUnit.MILLIS))) {
+                return;
+            }
+
+            syncLauncher.launch(false, false).ifPresentOrElse(
+                    execution -> log.info("Scheduled sync {} started", execution.getId()),
+                    () -> log.info("Scheduled sync skipped: a sync is already running"));
         } catch (Exception e) {
-            log.error("Scheduled sync failed: {}", e.getMessage(), e);
+            log.error("Scheduled sync failed to start: {}", e.getMessage(), e);
         }
     }
-
-
-    // @Scheduled(cron = "0 0 2 * * ?")
-    // public void dailySync() {
-    //     scheduledSync();
-    // }
-}
\ No newline at end of file
+}
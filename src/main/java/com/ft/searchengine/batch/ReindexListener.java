@@ -0,0 +1,69 @@
+package com.ft.searchengine.batch;
+
+import com.ft.searchengine.service.JobIndexManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a sync run launched with {@code reindex=true} into a full rebuild.
+ * <p>
+ * Before the run a fresh index generation is created and its name is put in the job execution
+ * context, where the writer picks it up instead of the alias. When the run completes the generation
+ * is promoted behind the alias; when it fails the generation is dropped and the live index is left
+ * as it was.
+ */
+@Component
+@Slf4j
+public class ReindexListener implements JobExecutionListener {
+
+    public static final String REINDEX_PARAM = "reindex";
+    public static final String TARGET_INDEX_KEY = "sync.targetIndex";
+
+    @Autowired
+    private JobIndexManager jobIndexManager;
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        if (!isReindex(jobExecution)) {
+            return;
+        }
+        try {
+            String index = jobIndexManager.createGeneration();
+            jobExecution.getExecutionContext().putString(TARGET_INDEX_KEY, index);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not create a new index generation", e);
+        }
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        if (!jobExecution.getExecutionContext().containsKey(TARGET_INDEX_KEY)) {
+            return;
+        }
+        String index = jobExecution.getExecutionContext().getString(TARGET_INDEX_KEY);
+
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+            jobIndexManager.discard(index);
+            return;
+        }
+
+        try {
+            jobIndexManager.promote(index);
+        } catch (Exception e) {
+            // Fail the run so its watermark is not used and the next run retries the rebuild
+            log.error("Could not promote {}: {}", index, e.getMessage(), e);
+            jobIndexManager.discard(index);
+            jobExecution.setStatus(BatchStatus.FAILED);
+            jobExecution.setExitStatus(ExitStatus.FAILED.addExitDescription(e));
+        }
+    }
+
+    private boolean isReindex(JobExecution jobExecution) {
+        return Boolean.parseBoolean(jobExecution.getJobParameters().getString(REINDEX_PARAM));
+    }
+}
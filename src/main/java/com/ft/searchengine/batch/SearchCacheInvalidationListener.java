@@ -0,0 +1,43 @@
+package com.ft.searchengine.batch;
+
+import com.ft.searchengine.service.JobIndexChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Announces a {@link JobIndexChangedEvent} when a sync run completes and actually wrote something.
+ * Register it before the other job listeners: {@code afterJob} callbacks run in reverse order, so it
+ * then sees the final status, after a reindex has moved the alias.
+ */
+@Component
+@Slf4j
+public class SearchCacheInvalidationListener implements JobExecutionListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+            return;
+        }
+
+        boolean reindexed = jobExecution.getExecutionContext().containsKey(ReindexListener.TARGET_INDEX_KEY);
+        long written = jobExecution.getStepExecutions().stream()
+                .mapToLong(StepExecution::getWriteCount)
+                .sum();
+
+        if (reindexed || written > 0) {
+            eventPublisher.publishEvent(new JobIndexChangedEvent(
+                    reindexed ? "reindex " + jobExecution.getId() : "sync " + jobExecution.getId()));
+        } else {
+            log.debug("Sync {} changed nothing, keeping cached results", jobExecution.getId());
+        }
+    }
+}
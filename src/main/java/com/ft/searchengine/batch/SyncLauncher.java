@@ -0,0 +1,183 @@
+package com.ft.searchengine.batch;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionException;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Starts sync runs without making the caller wait for them, and reports on past and current runs.
+ * <p>
+ * A launch returns as soon as the run is recorded; the run itself goes on on the
+ * {@code syncLaunchExecutor}. At most one run is active across all nodes ({@link SyncLockListener}),
+ * and a launch while one is active is refused rather than queued, so the scheduler and manual
+ * triggers can never overlap and index the same rows twice.
+ */
+@Component
+@Slf4j
+public class SyncLauncher {
+
+    private static final int MAX_FAILURES_REPORTED = 5;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobExplorer jobExplorer;
+
+    @Autowired
+    private Job syncJobsToElasticsearch;
+
+    @Autowired
+    private SyncLockListener syncLockListener;
+
+    @Autowired
+    @Qualifier("syncLaunchExecutor")
+    private TaskExecutor syncLaunchExecutor;
+
+    // Kept out of the context so the blocking jobLauncher bean stays the only JobLauncher
+    private TaskExecutorJobLauncher asyncJobLauncher;
+
+    public record RunStatus(
+            long executionId,
+            String status,
+            String exitCode,
+            boolean fullSync,
+            boolean reindex,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            long durationMs,
+            long readCount,
+            long writeCount,
+            long skipCount,
+            double docsPerSecond,
+            List<String> failures) {
+    }
+
+    @PostConstruct
+    void init() throws Exception {
+        asyncJobLauncher = new TaskExecutorJobLauncher();
+        asyncJobLauncher.setJobRepository(jobRepository);
+        asyncJobLauncher.setTaskExecutor(syncLaunchExecutor);
+        asyncJobLauncher.afterPropertiesSet();
+    }
+
+    /**
+     * @return the started run, or empty if a sync is already running on some node
+     */
+    public Optional<JobExecution> launch(boolean fullSync, boolean reindex) throws JobExecutionException {
+        String token = syncLockListener.tryAcquire();
+        if (token == null) {
+            log.info("Sync not started: another run holds the lock");
+            return Optional.empty();
+        }
+
+        JobParametersBuilder params = new JobParametersBuilder()
+                .addLong("time", System.currentTimeMillis())
+                .addString(SyncWatermarkListener.FULL_SYNC_PARAM, String.valueOf(fullSync))
+                .addString(SyncLockListener.LOCK_TOKEN_PARAM, token, false);
+        if (reindex) {
+            params.addString(ReindexListener.REINDEX_PARAM, "true");
+        }
+
+        JobExecution execution;
+        try {
+            execution = asyncJobLauncher.run(syncJobsToElasticsearch, params.toJobParameters());
+        } catch (JobExecutionException | RuntimeException e) {
+            syncLockListener.release(token);
+            throw e;
+        }
+
+        // A rejected launch is recorded as FAILED without ever running the listeners that would release the lock
+        if (execution.getStatus() == BatchStatus.FAILED && execution.getStartTime() == null) {
+            syncLockListener.release(token);
+        }
+        log.info("Sync {} launched (full={}, reindex={})", execution.getId(), fullSync, reindex);
+        return Optional.of(execution);
+    }
+
+    public boolean isRunning() {
+        return syncLockListener.isHeld();
+    }
+
+    public List<RunStatus> recentRuns(int count) {
+        List<RunStatus> runs = new ArrayList<>();
+        for (JobInstance instance : jobExplorer.getJobInstances(syncJobsToElasticsearch.getName(), 0, count)) {
+            for (JobExecution execution : jobExplorer.getJobExecutions(instance)) {
+                runs.add(toStatus(execution));
+            }
+        }
+        return runs.size() > count ? runs.subList(0, count) : runs;
+    }
+
+    // When the latest run ended, on whichever node; empty if there was none or it never recorded an end
+    public Optional<LocalDateTime> lastEndTime() {
+        for (JobInstance instance : jobExplorer.getJobInstances(syncJobsToElasticsearch.getName(), 0, 1)) {
+            return jobExplorer.getJobExecutions(instance).stream()
+                    .map(JobExecution::getEndTime)
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder());
+        }
+        return Optional.empty();
+    }
+
+    public Optional<RunStatus> run(long executionId) {
+        return Optional.ofNullable(jobExplorer.getJobExecution(executionId)).map(this::toStatus);
+    }
+
+    private RunStatus toStatus(JobExecution execution) {
+        // The partition manager step already sums its workers' counts
+        long read = 0;
+        long written = 0;
+        long skipped = 0;
+        for (StepExecution step : execution.getStepExecutions()) {
+            if (JobSyncBatchConfig.SYNC_STEP.equals(step.getStepName())) {
+                read += step.getReadCount();
+                written += step.getWriteCount();
+                skipped += step.getSkipCount();
+            }
+        }
+
+        LocalDateTime start = execution.getStartTime();
+        LocalDateTime end = execution.getEndTime();
+        long durationMs = start == null ? 0 : Duration.between(start, end != null ? end : LocalDateTime.now()).toMillis();
+
+        return new RunStatus(
+                execution.getId(),
+                execution.getStatus().name(),
+                execution.getExitStatus().getExitCode(),
+                Boolean.parseBoolean(execution.getJobParameters().getString(SyncWatermarkListener.FULL_SYNC_PARAM)),
+                Boolean.parseBoolean(execution.getJobParameters().getString(ReindexListener.REINDEX_PARAM)),
+                start,
+                end,
+                durationMs,
+                read,
+                written,
+                skipped,
+                durationMs == 0 ? 0 : written * 1000.0 / durationMs,
+                execution.getAllFailureExceptions().stream()
+                        .limit(MAX_FAILURES_REPORTED)
+                        .map(e -> e.getClass().getSimpleName() + ": " + e.getMessage())
+                        .toList());
+    }
+}
@@ -0,0 +1,111 @@
+package com.ft.searchengine.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Lets one sync run at a time across all app nodes.
+ * <p>
+ * The lock is a Redis key holding a random token, set only if absent and with a TTL. {@link SyncLauncher}
+ * takes it before launching and passes the token as a job parameter. While the run lasts the TTL is
+ * extended every third of its length, and the lock is released when the run ends. A node that dies
+ * mid-run stops renewing, so its lock expires on its own. Register this listener before all others:
+ * {@code afterJob} callbacks run in reverse order, so the lock is then held until an alias swap and
+ * cache invalidation have finished too.
+ */
+@Component
+@Slf4j
+public class SyncLockListener implements JobExecutionListener {
+
+    public static final String LOCK_TOKEN_PARAM = "lockToken";
+
+    static final String LOCK_KEY = "jobseek:sync-lock";
+
+    // Renew and release only while the key still holds our token, never another node's
+    private static final RedisScript<Long> RENEW = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Value("${jobseek.sync.lock-ttl:10m}")
+    private Duration lockTtl;
+
+    private final Map<Long, ScheduledFuture<?>> renewals = new ConcurrentHashMap<>();
+
+    /**
+     * @return the lock token, or null if another run holds the lock
+     */
+    public String tryAcquire() {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, lockTtl);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    public void release(String token) {
+        redisTemplate.execute(RELEASE, List.of(LOCK_KEY), token);
+    }
+
+    public boolean isHeld() {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(LOCK_KEY));
+    }
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        String token = jobExecution.getJobParameters().getString(LOCK_TOKEN_PARAM);
+        if (token != null) {
+            renewals.put(jobExecution.getId(),
+                    taskScheduler.scheduleAtFixedRate(() -> renew(token), lockTtl.dividedBy(3)));
+        }
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        ScheduledFuture<?> renewal = renewals.remove(jobExecution.getId());
+        if (renewal != null) {
+            renewal.cancel(false);
+        }
+
+        String token = jobExecution.getJobParameters().getString(LOCK_TOKEN_PARAM);
+        if (token != null) {
+            try {
+                release(token);
+            } catch (RuntimeException e) {
+                log.warn("Could not release the sync lock, it expires within {}: {}", lockTtl, e.getMessage());
+            }
+        }
+    }
+
+    private void renew(String token) {
+        try {
+            Long renewed = redisTemplate.execute(RENEW, List.of(LOCK_KEY), token, String.valueOf(lockTtl.toMillis()));
+            if (renewed == null || renewed == 0) {
+                log.warn("Sync lock was lost; another node may start a sync before this one ends");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not renew the sync lock: {}", e.getMessage());
+        }
+    }
+}
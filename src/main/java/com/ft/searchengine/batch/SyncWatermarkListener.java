@@ -0,0 +1,72 @@
+package com.ft.searchengine.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Works out which {@code updated_at} window a sync run covers.
+ * <p>
+ * Each run stores the upper bound of its window in the job execution context. The next run starts
+ * from the bound of the last COMPLETED run (minus a small overlap, so rows committed late by a
+ * long transaction are not missed), which means a failed run is simply retried on the next launch.
+ * With no previous successful run, or when launched with {@code fullSync=true}, the window starts
+ * at the epoch and every row is synced.
+ */
+@Component
+@Slf4j
+public class SyncWatermarkListener implements JobExecutionListener {
+
+    public static final String SINCE_KEY = "sync.since";
+    public static final String UNTIL_KEY = "sync.until";
+    public static final String FULL_SYNC_PARAM = "fullSync";
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int INSTANCES_TO_SEARCH = 50;
+
+    @Autowired
+    private JobExplorer jobExplorer;
+
+    @Value("${jobseek.sync.watermark-overlap-seconds:60}")
+    private long overlapSeconds;
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        LocalDateTime until = LocalDateTime.now();
+        LocalDateTime since = BEGINNING;
+
+        String fullSync = jobExecution.getJobParameters().getString(FULL_SYNC_PARAM);
+        if (!Boolean.parseBoolean(fullSync)) {
+            LocalDateTime watermark = lastWatermark(jobExecution.getJobInstance().getJobName());
+            if (watermark != null) {
+                since = watermark.minusSeconds(overlapSeconds);
+            }
+        }
+
+        jobExecution.getExecutionContext().putString(SINCE_KEY, since.toString());
+        jobExecution.getExecutionContext().putString(UNTIL_KEY, until.toString());
+        log.info("Syncing rows updated in ({}, {}]", since, until);
+    }
+
+    private LocalDateTime lastWatermark(String jobName) {
+        List<JobInstance> instances = jobExplorer.getJobInstances(jobName, 0, INSTANCES_TO_SEARCH);
+        for (JobInstance instance : instances) {
+            for (JobExecution execution : jobExplorer.getJobExecutions(instance)) {
+                if (execution.getStatus() == BatchStatus.COMPLETED
+                        && execution.getExecutionContext().containsKey(UNTIL_KEY)) {
+                    return LocalDateTime.parse(execution.getExecutionContext().getString(UNTIL_KEY));
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.ft.searchengine.config;
+
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors for work that runs off the HTTP threads.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} on Java 21 or later, Spring Boot serves requests
+ * on virtual threads, and these pools run their tasks on virtual threads as well, except the CPU-bound
+ * CSV parser pool. The pools keep their sizes and queues either way, because those limits are what
+ * bound concurrent imports, sync partitions and cache refreshes. Only the kind of thread changes.
+ * <p>
+ * The build targets Java 17, so the mode only turns on when the jar runs on a Java 21+ runtime; on
+ * older JVMs the property is ignored, as it is for Tomcat. Nothing in this codebase blocks inside
+ * {@code synchronized}, and the PostgreSQL driver (42.6+) and Logback (1.3+) guard their I/O with
+ * {@code ReentrantLock}, so request, import and sync paths do not pin carrier threads.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Autowired
+    private Environment environment;
+
+    // Runs whole CSV imports off the HTTP threads; each import hands its parsing to importParserExecutor
+    @Bean
+    public ThreadPoolTaskExecutor importTaskExecutor(
+            @Value("${jobseek.import.max-concurrent:2}") int maxConcurrent,
+            @Value("${jobseek.import.max-queued:4}") int maxQueued) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(maxQueued);
+        useThreads(executor, "import-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    // Parses CSV chunks for every running import. Parsing is CPU-bound, so this stays one platform thread
+    // per core however many imports run, also in virtual-thread mode
+    @Bean
+    public ThreadPoolTaskExecutor importParserExecutor(@Value("${jobseek.import.parser-threads:0}") int parserThreads) {
+        int threads = parserThreads > 0 ? parserThreads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("import-parser-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    // One thread per sync partition; extra partitions wait in the queue
+    @Bean
+    public ThreadPoolTaskExecutor syncTaskExecutor(@Value("${jobseek.sync.partitions:4}") int partitions) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(partitions);
+        executor.setMaxPoolSize(partitions);
+        useThreads(executor, "sync-");
+        return executor;
+    }
+
+    // Runs launched syncs off the caller's thread. One at a time: the sync lock refuses a second launch,
+    // and the one-slot queue only covers a run whose thread is still winding down
+    @Bean
+    public ThreadPoolTaskExecutor syncLaunchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        useThreads(executor, "sync-launch-");
+        return executor;
+    }
+
+    // Recomputes hot search pages shortly before they expire; refreshes are skipped when it is busy
+    @Bean
+    public ThreadPoolTaskExecutor searchRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(50);
+        useThreads(executor, "search-refresh-");
+        return executor;
+    }
+
+    private void useThreads(ThreadPoolTaskExecutor executor, String namePrefix) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory());
+        } else {
+            executor.setThreadNamePrefix(namePrefix);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.ft.searchengine.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ft.searchengine.document.JobDocument;
+import com.ft.searchengine.dto.CachedSearchResult;
+import com.ft.searchengine.dto.JobSearchResponse;
+import com.ft.searchengine.dto.SearchFacets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary value format for the Redis cache tier.
+ * <p>
+ * Layout: one format byte, the value's class name ({@link DataOutputStream#writeUTF}), then the
+ * value as Smile, optionally deflated. The class name is written once per entry instead of once per
+ * object, so the {@code @class} properties JSON needs on every document are dropped. Values in a
+ * format this build does not know (including entries written by the old JSON serializer), or that
+ * no longer match the classes, read as {@code null}, which the cache treats as a miss and overwrites.
+ */
+@Slf4j
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    public static final byte SMILE = 1;
+    public static final byte SMILE_DEFLATE = 2;
+
+    // Only our own types are instantiated from a class name found in Redis
+    private static final String ALLOWED_PACKAGE = "com.ft.searchengine.";
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NONE)
+    private interface NoTypeInfo {
+    }
+
+    private final ObjectMapper mapper;
+    private final byte format;
+
+    public CompactCacheSerializer(byte format) {
+        if (format != SMILE && format != SMILE_DEFLATE) {
+            throw new IllegalArgumentException("Unknown cache format " + format);
+        }
+        this.format = format;
+
+        SmileFactory factory = new SmileFactory();
+        // Back-references for repeated short values such as locations, levels and skills
+        factory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+        mapper = new ObjectMapper(factory);
+        mapper.registerModule(new JavaTimeModule());
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        mapper.addMixIn(CachedSearchResult.class, NoTypeInfo.class);
+        mapper.addMixIn(JobSearchResponse.class, NoTypeInfo.class);
+        mapper.addMixIn(JobDocument.class, NoTypeInfo.class);
+        mapper.addMixIn(SearchFacets.class, NoTypeInfo.class);
+    }
+
+    public static byte formatOf(String name) {
+        return switch (name) {
+            case "smile" -> SMILE;
+            case "smile-deflate" -> SMILE_DEFLATE;
+            default -> throw new IllegalArgumentException("Unknown cache format " + name);
+        };
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+            DataOutputStream header = new DataOutputStream(bytes);
+            header.writeByte(format);
+            header.writeUTF(value.getClass().getName());
+            header.flush();
+
+            if (format == SMILE_DEFLATE) {
+                try (OutputStream out = new DeflaterOutputStream(bytes, new Deflater(Deflater.BEST_SPEED), 4096)) {
+                    mapper.writeValue(out, value);
+                }
+            } else {
+                mapper.writeValue(bytes, value);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        byte version = bytes[0];
+        if (version != SMILE && version != SMILE_DEFLATE) {
+            log.debug("Ignoring cache value in unknown format {}", version);
+            return null;
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+            String className = in.readUTF();
+            if (!className.startsWith(ALLOWED_PACKAGE)) {
+                throw new SerializationException("Refusing to read cached " + className);
+            }
+            Class<?> type = Class.forName(className, false, getClass().getClassLoader());
+
+            InputStream payload = version == SMILE_DEFLATE ? new InflaterInputStream(in) : in;
+            return mapper.readValue(payload, type);
+        } catch (IOException | ClassNotFoundException e) {
+            // Written by a build with different classes; recomputing is cheaper than failing the request
+            log.warn("Discarding unreadable cache value: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -6,15 +6,23 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ft.searchengine.service.JobSearchService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -59,16 +67,25 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+    // Redis is the shared tier; hot keys are answered from a small per-node Caffeine tier in front of it
     @Bean
-    public RedisCacheManager cacheManager(
+    public TwoLevelCacheManager cacheManager(
             RedisConnectionFactory connectionFactory,
-            ObjectMapper redisObjectMapper) {
+            ObjectMapper redisObjectMapper,
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${jobseek.cache.local.max-entries:1000}") long localMaxEntries,
+            @Value("${jobseek.cache.local.ttl-seconds:30}") long localTtlSeconds,
+            @Value("${jobseek.cache.format:smile-deflate}") String format,
+            @Value("${jobseek.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${jobseek.cache.facets.ttl-seconds:900}") long facetTtlSeconds) {
 
-        GenericJackson2JsonRedisSerializer serializer =
-                new GenericJackson2JsonRedisSerializer(redisObjectMapper);
+        // "json" keeps the readable format for debugging with redis-cli
+        RedisSerializer<Object> serializer = "json".equals(format)
+                ? new GenericJackson2JsonRedisSerializer(redisObjectMapper)
+                : new CompactCacheSerializer(CompactCacheSerializer.formatOf(format));
 
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(5))
+                .entryTtl(Duration.ofSeconds(ttlSeconds))
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())
                 )
@@ -76,9 +93,32 @@ public class RedisConfig {
                         RedisSerializationContext.SerializationPair.fromSerializer(serializer)
                 );
 
-        return RedisCacheManager.builder(connectionFactory)
+        // SCAN rather than KEYS when a cache is cleared, so invalidation does not block Redis
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(
+                connectionFactory, BatchStrategies.scan(1000));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(cacheWriter)
                 .cacheDefaults(config)
+                // Facets only change with the index, which clears them anyway; keep them longer than pages
+                .withCacheConfiguration(JobSearchService.FACET_CACHE_NAME,
+                        config.entryTtl(Duration.ofSeconds(facetTtlSeconds)))
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate,
+                localMaxEntries, Duration.ofSeconds(localTtlSeconds));
+    }
+
+    // Delivers other nodes' evictions to the local tier
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager cacheManager) {
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        return container;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.ft.searchengine.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link Cache} that answers from a bounded in-heap map first and falls back to Redis.
+ * <p>
+ * Reads that reach Redis are copied into the local tier. Writes go to both tiers. Evictions and
+ * clears also go to both, and are then broadcast so other nodes drop their local copies. The local
+ * TTL is kept short, so a lost broadcast only leaves a node stale for a few seconds.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> local;
+    private final Cache remote;
+    private final TwoLevelCacheManager manager;
+
+    TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> local,
+                  Cache remote, TwoLevelCacheManager manager) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.manager = manager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = local.getIfPresent(key);
+        if (wrapper != null) {
+            return wrapper;
+        }
+
+        wrapper = remote.get(key);
+        if (wrapper != null) {
+            // Keep our own wrapper: the remote one may be backed by something that is not safe to retain
+            wrapper = new SimpleValueWrapper(wrapper.get());
+            local.put(key, wrapper);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = local.getIfPresent(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value = remote.get(key, valueLoader);
+        local.put(key, new SimpleValueWrapper(value));
+        return value;
+    }
+
+    // Non-blocking lookup for reactive callers: local hits complete at once, Redis is read asynchronously
+    @Override
+    public CompletableFuture<ValueWrapper> retrieve(Object key) {
+        ValueWrapper wrapper = local.getIfPresent(key);
+        if (wrapper != null) {
+            return CompletableFuture.completedFuture(wrapper);
+        }
+
+        CompletableFuture<?> remoteValue = remote.retrieve(key);
+        if (remoteValue == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return remoteValue.thenApply(found -> {
+            if (found == null) {
+                return null;
+            }
+            ValueWrapper copy = new SimpleValueWrapper(found instanceof ValueWrapper w ? w.get() : found);
+            local.put(key, copy);
+            return copy;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(key, new SimpleValueWrapper(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(key);
+        manager.publishEvict(name, key);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        manager.publishClear(name);
+    }
+
+    // Called for invalidations broadcast by other nodes; Redis has already been updated by the sender
+    void evictLocal(Object key) {
+        local.invalidate(key);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    com.github.benmanes.caffeine.cache.stats.CacheStats localStats() {
+        return local.stats();
+    }
+}
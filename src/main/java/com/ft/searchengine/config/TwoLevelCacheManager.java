@@ -0,0 +1,112 @@
+package com.ft.searchengine.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Puts a {@link TwoLevelCache} (Caffeine in front of Redis) over every cache of a Redis-backed
+ * {@link CacheManager}, and keeps the in-heap tiers of all nodes in step over Redis pub/sub.
+ * <p>
+ * Invalidation messages are {@code nodeId \n cacheName \n key}, with an empty key meaning "clear".
+ * Each node ignores its own messages.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "jobseek:cache-invalidation";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    private final CacheManager remote;
+    private final StringRedisTemplate redisTemplate;
+    private final long localMaxEntries;
+    private final Duration localTtl;
+
+    public TwoLevelCacheManager(CacheManager remote, StringRedisTemplate redisTemplate,
+                                long localMaxEntries, Duration localTtl) {
+        this.remote = remote;
+        this.redisTemplate = redisTemplate;
+        this.localMaxEntries = localMaxEntries;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, n -> {
+            Cache remoteCache = remote.getCache(n);
+            if (remoteCache == null) {
+                return null;
+            }
+            // Caffeine's size bound evicts by W-TinyLFU, so one-off queries do not push out the hot ones
+            return new TwoLevelCache(n,
+                    Caffeine.newBuilder()
+                            .maximumSize(localMaxEntries)
+                            .expireAfterWrite(localTtl)
+                            .recordStats()
+                            .build(),
+                    remoteCache, this);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    public Map<String, CacheStats> localStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.localStats()));
+        return stats;
+    }
+
+    void publishEvict(String cacheName, Object key) {
+        publish(cacheName, String.valueOf(key));
+    }
+
+    void publishClear(String cacheName) {
+        publish(cacheName, "");
+    }
+
+    private void publish(String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + "\n" + cacheName + "\n" + key);
+        } catch (RuntimeException e) {
+            // Other nodes fall back to their local TTL
+            log.warn("Could not broadcast invalidation of {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts[2].isEmpty()) {
+            cache.clearLocal();
+            log.debug("Cleared local {} cache on request of node {}", parts[1], parts[0]);
+        } else {
+            cache.evictLocal(parts[2]);
+        }
+    }
+}
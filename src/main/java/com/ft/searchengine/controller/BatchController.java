@@ -1,69 +1,99 @@
 package com.ft.searchengine.controller;
 
 
-import com.ft.searchengine.batch.JobSyncScheduler;
+import com.ft.searchengine.batch.JobOutboxDrainer;
+import com.ft.searchengine.batch.SyncLauncher;
+import com.ft.searchengine.service.JobBulkIndexer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.batch.core.Job;
-import org.springframework.batch.core.JobParameters;
-import org.springframework.batch.core.JobParametersBuilder;
-import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/batch")
 @Slf4j
 public class BatchController {
 
     @Autowired
-    private JobLauncher jobLauncher;
+    private SyncLauncher syncLauncher;
 
     @Autowired
-    private Job syncJobsToElasticsearch;
-
-    @PostMapping("/sync")
-    public ResponseEntity<String> triggerSync() {
-        try {
-            log.info("Starting batch sync job...");
-
-            JobParameters params = new JobParametersBuilder()
-                    .addLong("time", System.currentTimeMillis())
-                    .toJobParameters();
+    private JobBulkIndexer jobBulkIndexer;
 
-            jobLauncher.run(syncJobsToElasticsearch, params);
+    @Autowired
+    private JobOutboxDrainer jobOutboxDrainer;
 
-            log.info("Batch sync completed successfully!");
-            return ResponseEntity.ok("Sync job started successfully!");
+    // full=true ignores the watermark and resyncs every row
+    @PostMapping("/sync")
+    public ResponseEntity<String> triggerSync(@RequestParam(defaultValue = "false") boolean full) {
+        log.info("Sync requested (full={})", full);
+        return launch(full, false);
+    }
 
-        } catch (Exception e) {
-            log.error("Batch sync failed: {}", e.getMessage());
-            return ResponseEntity.internalServerError()
-                    .body("Sync failed: " + e.getMessage());
-        }
+    // Rebuilds the index into a new generation and swaps the alias once it is complete
+    @PostMapping("/reindex")
+    public ResponseEntity<String> triggerReindex() {
+        log.info("Reindex requested");
+        return launch(true, true);
     }
 
+    // Same incremental sync the scheduler runs
+    @PostMapping("/sync-now")
+    public ResponseEntity<String> syncNow() {
+        log.info("Manual sync triggered via API...");
+        return launch(false, false);
+    }
 
-    @Autowired
-    private JobSyncScheduler jobSyncScheduler;
+    // Bulk throughput and latency since startup, for tuning the indexing settings
+    @GetMapping("/indexing-stats")
+    public ResponseEntity<JobBulkIndexer.IndexingStats> getIndexingStats() {
+        return ResponseEntity.ok(jobBulkIndexer.getStats());
+    }
 
+    // Whether a sync is running anywhere, and the latest runs with their counts, duration and throughput
     @GetMapping("/status")
-    public ResponseEntity<String> getBatchStatus() {
-        return ResponseEntity.ok("Batch job is scheduled to run every hour");
+    public ResponseEntity<Map<String, Object>> getBatchStatus(@RequestParam(defaultValue = "10") int limit) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", syncLauncher.isRunning());
+        status.put("outboxPending", jobOutboxDrainer.pending());
+        status.put("runs", syncLauncher.recentRuns(Math.max(1, Math.min(limit, 100))));
+        return ResponseEntity.ok(status);
     }
 
-    @PostMapping("/sync-now")
-    public ResponseEntity<String> syncNow() {
+    @GetMapping("/status/{executionId}")
+    public ResponseEntity<SyncLauncher.RunStatus> getRunStatus(@PathVariable long executionId) {
+        return syncLauncher.run(executionId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // 202 with the run to poll, or 409 while another run is active
+    private ResponseEntity<String> launch(boolean fullSync, boolean reindex) {
         try {
-            log.info("Manual sync triggered via API...");
-            jobSyncScheduler.scheduledSync();
-            return ResponseEntity.ok("Manual sync completed!");
+            Optional<JobExecution> execution = syncLauncher.launch(fullSync, reindex);
+            if (execution.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("A sync is already running");
+            }
+            long id = execution.get().getId();
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/batch/status/" + id))
+                    .body("Sync " + id + " started; see /api/batch/status/" + id);
         } catch (Exception e) {
+            log.error("Sync could not be started: {}", e.getMessage());
             return ResponseEntity.internalServerError()
-                    .body("Manual sync failed: " + e.getMessage());
+                    .body("Sync could not be started: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
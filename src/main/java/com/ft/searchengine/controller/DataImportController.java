@@ -5,10 +5,13 @@ package com.ft.searchengine.controller;
 import com.ft.searchengine.service.DataImportService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.Objects;
 
 @RestController
@@ -32,8 +35,25 @@ public class DataImportController {
 
         log.info("Importing file: {}", file.getOriginalFilename());
 
-        DataImportService.ImportResult result = dataImportService.importFromCsv(file);
+        try {
+            DataImportService.ImportResult result = dataImportService.submitImport(file);
+            return ResponseEntity.accepted().body(result);
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body("Too many imports in progress, try again later");
+        } catch (IOException e) {
+            log.error("Could not spool upload: {}", e.getMessage());
+            return ResponseEntity.internalServerError()
+                    .body("Could not store upload: " + e.getMessage());
+        }
+    }
 
+    @GetMapping("/{importId}")
+    public ResponseEntity<DataImportService.ImportResult> getImportStatus(@PathVariable String importId) {
+        DataImportService.ImportResult result = dataImportService.getImport(importId);
+        if (result == null) {
+            return ResponseEntity.notFound().build();
+        }
         return ResponseEntity.ok(result);
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,26 @@
 package com.ft.searchengine.controller;
 
 
+import com.ft.searchengine.document.JobDocument;
+import com.ft.searchengine.dto.FacetBucket;
 import com.ft.searchengine.dto.JobSearchRequest;
 import com.ft.searchengine.dto.JobSearchResponse;
+import com.ft.searchengine.dto.Suggestion;
+import com.ft.searchengine.service.JobExportService;
 import com.ft.searchengine.service.JobSearchService;
+import com.ft.searchengine.suggest.SuggestionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/jobs")
@@ -17,17 +30,26 @@ public class JobSearchController {
     @Autowired
     private JobSearchService jobSearchService;
 
+    @Autowired
+    private JobExportService jobExportService;
+
+    @Autowired
+    private SuggestionService suggestionService;
+
     @GetMapping("/search")
     public ResponseEntity<JobSearchResponse> searchJobs(
             @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) List<String> skills,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) Integer minSalary,
             @RequestParam(required = false) Integer maxSalary,
             @RequestParam(required = false) String experienceLevel,
             @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) Boolean highlight,
+            @RequestParam(required = false) Boolean facets,
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "20") Integer size,
-            @RequestParam(defaultValue = "postedDate") String sortBy,
+            @RequestParam(required = false) String sortBy,
             @RequestParam(defaultValue = "desc") String sortOrder
     ) {
         log.info("Received search request: keyword={}, location={}", keyword, location);
@@ -36,11 +58,14 @@ public class JobSearchController {
         if (keyword == null) keyword = "";
 
         request.setKeyword(keyword);
+        request.setSkills(skills);
         request.setLocation(location);
         request.setMinSalary(minSalary);
         request.setMaxSalary(maxSalary);
         request.setExperienceLevel(experienceLevel);
         request.setIsActive(isActive);
+        request.setHighlight(highlight);
+        request.setFacets(facets);
         request.setPage(page);
         request.setSize(size);
         request.setSortBy(sortBy);
@@ -51,6 +76,79 @@ public class JobSearchController {
         return ResponseEntity.ok(response);
     }
 
+    // Many searches in one call for high fan-out clients; cache misses go to Elasticsearch as a single _msearch
+    @PostMapping("/search/batch")
+    public ResponseEntity<List<JobSearchResponse>> searchBatch(@RequestBody List<JobSearchRequest> requests) {
+        try {
+            return ResponseEntity.ok(jobSearchService.searchJobs(requests));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Facet counts alone, for refreshing the filter sidebar without reloading results
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, List<FacetBucket>>> facets(JobSearchRequest request) {
+        return ResponseEntity.ok(jobSearchService.getFacets(request));
+    }
+
+    // Typeahead for the search box; answered from memory, so it is cheap enough to call on every keystroke
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(suggestionService.suggest(q, type, limit));
+    }
+
+    // Cursor paging for deep walks: filters are read on the first call only, later calls just pass the cursor
+    @GetMapping("/search/cursor")
+    public ResponseEntity<JobSearchResponse> searchWithCursor(
+            JobSearchRequest request,
+            @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(jobSearchService.searchWithCursor(request, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Streams every match instead of one page; fields limits both the output and what is read from the index
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            JobSearchRequest request,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) List<String> fields) {
+
+        JobExportService.Format exportFormat;
+        List<String> exportFields;
+        try {
+            exportFormat = JobExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+            exportFields = jobExportService.resolveFields(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> jobExportService.export(request, exportFields, exportFormat, out);
+
+        if (exportFormat == JobExportService.Format.CSV) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"jobs.csv\"")
+                    .body(body);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Full job, including the description the result list leaves out
+    @GetMapping("/{id}")
+    public ResponseEntity<JobDocument> getJob(@PathVariable String id) {
+        JobDocument job = jobSearchService.getJob(id);
+        return job == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(job);
+    }
+
     @PostMapping("/clear-cache")
     public ResponseEntity<String> clearCache() {
         jobSearchService.clearCache();
@@ -0,0 +1,33 @@
+package com.ft.searchengine.controller;
+
+import com.ft.searchengine.dto.FacetBucket;
+import com.ft.searchengine.dto.JobSearchRequest;
+import com.ft.searchengine.dto.JobSearchResponse;
+import com.ft.searchengine.service.ReactiveJobSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+// Same parameters and results as /api/jobs; the request thread is released while the search runs
+@RestController
+@RequestMapping("/api/reactive/jobs")
+public class ReactiveJobSearchController {
+
+    @Autowired
+    private ReactiveJobSearchService reactiveJobSearchService;
+
+    @GetMapping("/search")
+    public Mono<JobSearchResponse> searchJobs(JobSearchRequest request) {
+        return reactiveJobSearchService.searchJobs(request);
+    }
+
+    @GetMapping("/facets")
+    public Mono<Map<String, List<FacetBucket>>> facets(JobSearchRequest request) {
+        return reactiveJobSearchService.getFacets(request);
+    }
+}
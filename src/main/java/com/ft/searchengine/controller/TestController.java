@@ -1,19 +1,26 @@
 package com.ft.searchengine.controller;
 
 
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.stats.IndexStats;
+import com.ft.searchengine.config.TwoLevelCacheManager;
 import com.ft.searchengine.document.JobDocument;
 import com.ft.searchengine.dto.JobSearchRequest;
 import com.ft.searchengine.dto.JobSearchResponse;
 import com.ft.searchengine.entity.Job;
+import com.ft.searchengine.repository.JobBatchRepository;
 import com.ft.searchengine.repository.JobsRepository;
 import com.ft.searchengine.repository.JobSearchRepository;
+import com.ft.searchengine.service.JobIndexManager;
 import com.ft.searchengine.service.JobSearchService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -28,14 +35,26 @@ public class TestController {
     @Autowired
     private JobSearchRepository jobSearchRepository;
 
+    @Autowired
+    private JobBatchRepository jobBatchRepository;
+
 
 
     @Autowired
     private JobSearchService jobSearchService;
 
+    @Autowired
+    private JobIndexManager jobIndexManager;
+
+    @Autowired
+    private ElasticsearchClient elasticsearchClient;
+
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
+    @Autowired
+    private TwoLevelCacheManager cacheManager;
+
     @GetMapping("/hello")
     public String hello() {
         return "JobSeekPro is running!";
@@ -56,7 +75,9 @@ public class TestController {
         job.setPostedDate(LocalDateTime.now());
         job.setIsActive(true);
 
-        Job savedJob = jobRepository.save(job);
+        // Through the dedup writer, so calling this twice finds the existing posting instead of violating its unique index
+        jobBatchRepository.upsertAll(List.of(job), true);
+        Job savedJob = jobRepository.findById(job.getId()).orElseThrow();
 
 //        log.info("✅ Job created in PostgreSQL only (ID: {})", savedJob.getId());
 
@@ -84,6 +105,17 @@ public class TestController {
 
 
 
+    // Size of the live generation, for comparing mapping changes before and after a reindex
+    @GetMapping("/index-stats")
+    public String getIndexStats() throws IOException {
+        String alias = jobIndexManager.alias();
+        IndexStats primaries = elasticsearchClient.indices().stats(s -> s.index(alias)).all().primaries();
+
+        return alias + ": " + primaries.docs().count() + " docs | "
+                + primaries.store().sizeInBytes() / 1024 + " KB on disk | "
+                + primaries.segments().count() + " segments";
+    }
+
     @GetMapping("/search-cached")
     public JobSearchResponse searchWithCache(@RequestParam String keyword) {
         JobSearchRequest request = new JobSearchRequest();
@@ -107,7 +139,7 @@ public class TestController {
                     .getConnection()
                     .dbSize();
 
-            return "Redis has " + dbSize + " keys in cache";
+            return "Redis has " + dbSize + " keys in cache | local tier: " + cacheManager.localStats();
         } catch (Exception e) {
             return "Error getting cache stats: " + e.getMessage();
         }
@@ -126,9 +158,8 @@ public class TestController {
                 {"Python", "TensorFlow", "Machine Learning"}
         };
 
-        int count = 0;
+        List<Job> jobs = new ArrayList<>();
         for (int i = 0; i < titles.length; i++) {
-            // Save to PostgreSQL ONLY
             Job job = new Job();
             job.setTitle(titles[i]);
             job.setCompany(companies[i]);
@@ -140,13 +171,15 @@ public class TestController {
             job.setExperienceLevel("Mid");
             job.setPostedDate(LocalDateTime.now());
             job.setIsActive(true);
-
-            jobRepository.save(job);
-            count++;
+            jobs.add(job);
         }
 
-        log.info("✅ Created {} jobs in PostgreSQL only", count);
+        // Repeated calls find the same postings and skip them
+        JobBatchRepository.WriteCounts counts = jobBatchRepository.upsertAll(jobs, true);
+        int count = counts.inserted();
+        log.info("✅ Created {} jobs in PostgreSQL ({} updated, {} unchanged)", count, counts.updated(), counts.unchanged());
 
-        return "✅ Created " + count + " jobs in PostgreSQL only (not synced to Elasticsearch yet)";
+        return "✅ Created " + count + " jobs in PostgreSQL (" + counts.updated() + " updated, "
+                + counts.unchanged() + " already present)";
     }
 }
@@ -0,0 +1,74 @@
+package com.ft.searchengine.dedup;
+
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over {@link JobFingerprint} hashes.
+ * <p>
+ * The fingerprints are already uniform SHA-256 output, so the first 128 bits are used directly as
+ * the two base hashes of double hashing instead of hashing again. Adds are lock-free and may run
+ * on several threads while others query. {@link #mightContain} never answers false for a value that
+ * was added; it answers true for a value that was not at roughly the configured rate, until more
+ * than the expected number of values have been added.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    public BloomFilter(long expectedValues, double falsePositiveRate) {
+        if (expectedValues < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Bloom filter needs expectedValues > 0 and 0 < falsePositiveRate < 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedValues * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = wordCount * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedValues * Math.log(2)));
+    }
+
+    public void put(String fingerprint) {
+        long h1 = h1(fingerprint);
+        long h2 = h2(fingerprint);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(String fingerprint) {
+        long h1 = h1(fingerprint);
+        long h2 = h2(fingerprint);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bits;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    private static long h1(String fingerprint) {
+        return HexFormat.fromHexDigitsToLong(fingerprint, 0, 16);
+    }
+
+    // Forced non-zero so the probes cannot all land on the same bit
+    private static long h2(String fingerprint) {
+        return HexFormat.fromHexDigitsToLong(fingerprint, 16, 32) | 1;
+    }
+}
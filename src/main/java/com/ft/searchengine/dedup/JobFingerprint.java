@@ -0,0 +1,89 @@
+package com.ft.searchengine.dedup;
+
+import com.ft.searchengine.entity.Job;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Stable SHA-256 hashes of a {@link Job}, as 64 hex characters.
+ * <p>
+ * The {@link #identity identity} fingerprint says which posting a row is: title, company and
+ * location compared case- and whitespace-insensitively, plus the job URL without fragment or
+ * trailing slash. The {@link #content content} hash covers everything else a feed can change, so
+ * a re-delivered posting with an equal content hash can be skipped. The posted date is left out
+ * of both, because the parser stamps the current time on rows that have none.
+ */
+public final class JobFingerprint {
+
+    // Unit separator: cannot appear in a trimmed CSV field, so ("ab", "c") and ("a", "bc") differ
+    private static final char SEPARATOR = '\u001f';
+
+    private JobFingerprint() {
+    }
+
+    public static String identity(Job job) {
+        return sha256(normalize(job.getTitle()), normalize(job.getCompany()), normalize(job.getLocation()),
+                normalizeUrl(job.getJobUrl()));
+    }
+
+    public static String content(Job job) {
+        List<String> skills = job.getSkills() == null ? List.of() : new ArrayList<>(job.getSkills());
+        Collections.sort(skills);
+        return sha256(job.getDescription(), String.join(",", skills), job.getMinSalary(), job.getMaxSalary(),
+                job.getExperienceLevel(), job.getIsActive() == null || job.getIsActive());
+    }
+
+    // Sets both hashes on the job, as stored in the fingerprint and content_hash columns
+    public static void apply(Job job) {
+        job.setFingerprint(identity(job));
+        job.setContentHash(content(job));
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return Normalizer.normalize(value, Normalizer.Form.NFKC)
+                .trim()
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    // Paths and query strings can be case-sensitive, so only the parts that never identify a page are dropped
+    static String normalizeUrl(String url) {
+        if (url == null) {
+            return "";
+        }
+        String normalized = url.trim();
+        int fragment = normalized.indexOf('#');
+        if (fragment >= 0) {
+            normalized = normalized.substring(0, fragment);
+        }
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    private static String sha256(Object... parts) {
+        StringBuilder joined = new StringBuilder();
+        for (Object part : parts) {
+            joined.append(part == null ? "" : part).append(SEPARATOR);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(joined.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to ship SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
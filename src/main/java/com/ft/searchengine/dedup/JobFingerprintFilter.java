@@ -0,0 +1,89 @@
+package com.ft.searchengine.dedup;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory pre-check for posting fingerprints already stored in {@code jobs}.
+ * <p>
+ * Writers only look up fingerprints the filter might contain; everything else is known to be new
+ * and goes straight to an insert. The filter is a hint, not the source of truth: fingerprints
+ * written by another node, or through JPA, are not in it, and the unique index on
+ * {@code jobs.fingerprint} rejects such inserts so the writer can retry with a full lookup.
+ * Until the filter has been loaded from the table at startup, every fingerprint counts as
+ * possibly present.
+ */
+@Component
+@Slf4j
+public class JobFingerprintFilter {
+
+    private static final String SELECT_FINGERPRINTS = "SELECT fingerprint FROM jobs WHERE fingerprint IS NOT NULL";
+    private static final int FETCH_SIZE = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${jobseek.dedup.expected-postings:2000000}")
+    private long expectedPostings;
+
+    @Value("${jobseek.dedup.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final AtomicLong added = new AtomicLong();
+    private BloomFilter filter;
+    private volatile boolean warm;
+
+    @PostConstruct
+    void init() {
+        filter = new BloomFilter(expectedPostings, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+        try {
+            // PostgreSQL only streams with a fetch size inside a transaction; otherwise it loads every row at once
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(SELECT_FINGERPRINTS);
+                ps.setFetchSize(FETCH_SIZE);
+                return ps;
+            }, rs -> {
+                put(rs.getString(1));
+            }));
+            warm = true;
+            log.info("Loaded {} job fingerprints into the dedup filter ({} bits, {} hashes) in {}ms",
+                    added.get(), filter.bitSize(), filter.hashCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            // Without the filter every fingerprint is looked up, which is slower but still correct
+            log.warn("Could not load job fingerprints, dedup will look up every posting: {}", e.getMessage());
+        }
+    }
+
+    public boolean mightContain(String fingerprint) {
+        return !warm || filter.mightContain(fingerprint);
+    }
+
+    public void put(String fingerprint) {
+        filter.put(fingerprint);
+        if (added.incrementAndGet() == expectedPostings + 1) {
+            log.warn("More than {} job fingerprints in the dedup filter; raise jobseek.dedup.expected-postings "
+                    + "to keep lookups rare", expectedPostings);
+        }
+    }
+}
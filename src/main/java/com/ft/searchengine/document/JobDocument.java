@@ -13,7 +13,8 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.List;
 
-@Document(indexName = "jobs")
+// "jobs" is an alias over versioned jobs_vN indices managed by JobIndexManager
+@Document(indexName = "jobs", createIndex = false)
 @Setting(settingPath = "elasticsearch-settings.json")
 @Data
 @NoArgsConstructor
@@ -26,13 +27,20 @@ public class JobDocument implements Serializable {
     @Id
     private String id;
 
-    @Field(type = FieldType.Text, analyzer = "standard")
+    // Prefix terms make typeahead a single term lookup; the keyword subfield serves sorting and aggregations
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard",
+                    indexPrefixes = @IndexPrefixes(minChars = 2, maxChars = 10)),
+            otherFields = @InnerField(suffix = "keyword", type = FieldType.Keyword, ignoreAbove = 256))
     private String title;
 
-    @Field(type = FieldType.Text, analyzer = "standard")
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = @InnerField(suffix = "keyword", type = FieldType.Keyword, ignoreAbove = 256))
     private String company;
 
-    @Field(type = FieldType.Text, analyzer = "english")
+    // No norms: a long description should not lower relevance, and they cost memory per document
+    @Field(type = FieldType.Text, analyzer = "english", norms = false)
     private String description;
 
     @Field(type = FieldType.Keyword)
@@ -50,13 +58,16 @@ public class JobDocument implements Serializable {
     @Field(type = FieldType.Keyword)
     private String experienceLevel;
 
+    // Also the index sort field (see elasticsearch-settings.json)
     @Field(type = FieldType.Date, format = DateFormat.date_hour_minute_second)
     private LocalDateTime postedDate;
 
-    @Field(type = FieldType.Boolean)
+    // Filtered on, never sorted or aggregated
+    @Field(type = FieldType.Boolean, docValues = false)
     private Boolean isActive;
 
-    @Field(type = FieldType.Keyword)
+    // Returned from _source, never searched
+    @Field(type = FieldType.Keyword, index = false, docValues = false)
     private String jobUrl;
 
 }
\ No newline at end of file
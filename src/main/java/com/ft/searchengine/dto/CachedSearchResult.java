@@ -0,0 +1,25 @@
+package com.ft.searchengine.dto;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * A cached search page plus what early refresh needs to know about it: when it was computed and
+ * how long computing it took.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+public class CachedSearchResult implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private JobSearchResponse response;
+    private long computedAt;
+    private long computeMs;
+}
@@ -0,0 +1,19 @@
+package com.ft.searchengine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// One facet value and how many matching jobs have it
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetBucket implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String key;
+    private long count;
+}
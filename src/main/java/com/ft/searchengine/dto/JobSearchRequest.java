@@ -15,11 +15,17 @@ public class JobSearchRequest {
     private String experienceLevel;
     private Boolean isActive;
 
+    // Adds a highlighted description snippet to each result (keyword searches only)
+    private Boolean highlight;
+
+    // Adds facet counts for the whole result set, not just this page
+    private Boolean facets;
+
     // Pagination
     private Integer page = 0;
     private Integer size = 20;
 
-    // Sorting
-    private String sortBy = "postedDate";
+    // Sorting; no sortBy means relevance for keyword searches and postedDate otherwise
+    private String sortBy;
     private String sortOrder = "desc";
 }
\ No newline at end of file
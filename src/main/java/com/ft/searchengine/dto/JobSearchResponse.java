@@ -3,13 +3,13 @@ package com.ft.searchengine.dto;
 
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.ft.searchengine.document.JobDocument;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -19,11 +19,17 @@ public class JobSearchResponse implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
-    private List<JobDocument> results;
+    private List<JobSummary> results;
     private long totalResults;
     private int currentPage;
     private int totalPages;
     private int pageSize;
     private long searchTimeMs;
     private boolean fromCache;
+
+    // Set on cursor-paged responses while more results remain; pass it back to get the next page
+    private String nextCursor;
+
+    // Counts per skill, location, experience level and salary band; only when facets were requested
+    private Map<String, List<FacetBucket>> facets;
 }
\ No newline at end of file
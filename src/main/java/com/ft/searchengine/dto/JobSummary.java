@@ -0,0 +1,34 @@
+package com.ft.searchengine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One search result as the result list shows it. The description is left out; when highlighting
+ * is requested, {@code snippet} holds a short highlighted fragment of it instead, as HTML-escaped
+ * text with the matches in {@code <em>} tags. The full job is available from {@code GET /api/jobs/{id}}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+    private String title;
+    private String company;
+    private String location;
+    private Integer minSalary;
+    private Integer maxSalary;
+    private String experienceLevel;
+    private List<String> skills;
+    private LocalDateTime postedDate;
+    private String jobUrl;
+    private String snippet;
+}
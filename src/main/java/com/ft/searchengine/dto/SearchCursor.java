@@ -0,0 +1,23 @@
+package com.ft.searchengine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything needed to fetch the page after the current one: the normalized search, the
+ * point-in-time it reads from, and the sort values of the last hit returned. Handed to clients as
+ * an opaque string.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchCursor {
+
+    private JobSearchRequest request;
+    private String pitId;
+    private List<Object> searchAfter;
+    private int page;
+}
@@ -0,0 +1,25 @@
+package com.ft.searchengine.dto;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Facet counts for one set of search filters, by facet name. Cached on its own, since every page
+ * and sort order of the same search has the same facets.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+public class SearchFacets implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Map<String, List<FacetBucket>> facets;
+}
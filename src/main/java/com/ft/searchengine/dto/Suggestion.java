@@ -0,0 +1,16 @@
+package com.ft.searchengine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A typeahead completion: a title, company or skill and how many postings have it
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+
+    private String text;
+    private String type;
+    private long count;
+}
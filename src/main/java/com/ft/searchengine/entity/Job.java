@@ -1,6 +1,8 @@
 package com.ft.searchengine.entity;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.ft.searchengine.dedup.JobFingerprint;
+import com.ft.searchengine.repository.JobOutboxListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,14 +12,22 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs", indexes = {
+        @Index(name = "idx_jobs_updated_at", columnList = "updated_at"),
+        @Index(name = "uk_jobs_fingerprint", columnList = "fingerprint", unique = true)
+})
+@EntityListeners(JobOutboxListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Job {
 
+    // Sequence (not IDENTITY) so Hibernate can batch inserts and JobBatchRepository can reserve ids up front
+    public static final String ID_SEQUENCE = "jobs_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 1)
     private Long id;
 
     @Column(nullable = false)
@@ -30,7 +40,8 @@ public class Job {
     private String description;
 
     @ElementCollection
-    @CollectionTable(name = "job_skills", joinColumns = @JoinColumn(name = "job_id"))
+    @CollectionTable(name = "job_skills", joinColumns = @JoinColumn(name = "job_id"),
+            indexes = @Index(name = "idx_job_skills_job_id", columnList = "job_id"))
     @Column(name = "skill")
     private List<String> skills;
 
@@ -51,6 +62,19 @@ public class Job {
 
     @Column(length = 1024)
     private String jobUrl;
+
+    // Which posting this is; the unique index makes re-delivered postings update the existing row
+    @Column(length = 64, nullable = false)
+    private String fingerprint;
+
+    // Hash of the remaining fields, so an identical re-delivery can be skipped without comparing them
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+
+    // Watermark column for the incremental Elasticsearch sync
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
     @PrePersist
     protected void onCreate() {
         if (postedDate == null) {
@@ -59,5 +83,13 @@ public class Job {
         if (isActive == null) {
             isActive = true;
         }
+        JobFingerprint.apply(this);
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        JobFingerprint.apply(this);
+        updatedAt = LocalDateTime.now();
     }
 }
\ No newline at end of file
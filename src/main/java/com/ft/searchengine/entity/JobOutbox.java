@@ -0,0 +1,31 @@
+package com.ft.searchengine.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A job that changed and has not been indexed yet. Rows are written in the same transaction as the
+ * change and deleted once the change is in Elasticsearch; see {@code JobOutboxDrainer}. Only the id
+ * is recorded: the drainer always indexes the row as it is when drained.
+ */
+@Entity
+@Table(name = "job_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,238 @@
+package com.ft.searchengine.repository;
+
+
+import com.ft.searchengine.dedup.JobFingerprint;
+import com.ft.searchengine.dedup.JobFingerprintFilter;
+import com.ft.searchengine.entity.Job;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC batch writer for the import pipeline.
+ * Bypasses the JPA persistence context so rows are never held as managed entities, and with
+ * {@code reWriteBatchedInserts=true} on the datasource URL each batch goes out as multi-row INSERTs.
+ * <p>
+ * Postings are deduplicated by {@link JobFingerprint}: a new fingerprint is inserted, a known one
+ * with a different content hash updates its row in place, and a known one with the same content
+ * hash is skipped. Only fingerprints {@link JobFingerprintFilter} might have seen are looked up.
+ */
+@Repository
+public class JobBatchRepository {
+
+    private static final String NEXT_IDS =
+            "SELECT nextval('" + Job.ID_SEQUENCE + "') FROM generate_series(1, ?)";
+
+    private static final String SELECT_EXISTING =
+            "SELECT fingerprint, id, content_hash FROM jobs WHERE fingerprint = ANY(?)";
+
+    private static final String INSERT_JOB =
+            "INSERT INTO jobs (id, title, company, description, location, min_salary, max_salary, " +
+            "experience_level, posted_date, is_active, job_url, fingerprint, content_hash, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // The identity fields are not rewritten: equal fingerprints already mean they match
+    private static final String UPDATE_JOB =
+            "UPDATE jobs SET description = ?, min_salary = ?, max_salary = ?, experience_level = ?, " +
+            "is_active = ?, content_hash = ?, updated_at = ? WHERE id = ?";
+
+    private static final String INSERT_SKILL =
+            "INSERT INTO job_skills (job_id, skill) VALUES (?, ?)";
+
+    private static final String DELETE_SKILLS =
+            "DELETE FROM job_skills WHERE job_id = ANY(?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobOutboxRepository jobOutboxRepository;
+
+    @Autowired
+    private JobFingerprintFilter jobFingerprintFilter;
+
+    public record WriteCounts(int inserted, int updated, int unchanged) {
+    }
+
+    private record Stored(long id, String contentHash) {
+    }
+
+    /**
+     * Writes the jobs and their skills in one transaction, assigning ids to new postings from the
+     * shared sequence. Inserted and updated ids are queued in the outbox in the same transaction.
+     * When a batch repeats a posting, its last occurrence wins.
+     *
+     * @param lookUpAll look up every fingerprint instead of trusting the filter; used to retry a
+     *                  batch the unique index rejected because another writer stored a posting first
+     * @throws org.springframework.dao.DuplicateKeyException when a posting believed new already exists
+     */
+    @Transactional
+    public WriteCounts upsertAll(List<Job> jobs, boolean lookUpAll) {
+        if (jobs.isEmpty()) {
+            return new WriteCounts(0, 0, 0);
+        }
+
+        Map<String, Job> byFingerprint = new LinkedHashMap<>();
+        for (Job job : jobs) {
+            JobFingerprint.apply(job);
+            byFingerprint.put(job.getFingerprint(), job);
+        }
+
+        List<String> candidates = byFingerprint.keySet().stream()
+                .filter(fingerprint -> lookUpAll || jobFingerprintFilter.mightContain(fingerprint))
+                .toList();
+        Map<String, Stored> existing = findExisting(candidates);
+
+        List<Job> inserts = new ArrayList<>();
+        List<Job> updates = new ArrayList<>();
+        for (Job job : byFingerprint.values()) {
+            Stored stored = existing.get(job.getFingerprint());
+            if (stored == null) {
+                inserts.add(job);
+            } else {
+                // Unchanged postings get the stored id too, so callers can tell which row holds them
+                job.setId(stored.id());
+                if (!stored.contentHash().equals(job.getContentHash())) {
+                    updates.add(job);
+                }
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        insert(inserts, now);
+        update(updates, now);
+
+        List<Long> changedIds = new ArrayList<>(inserts.size() + updates.size());
+        inserts.forEach(job -> changedIds.add(job.getId()));
+        updates.forEach(job -> changedIds.add(job.getId()));
+        jobOutboxRepository.record(changedIds);
+
+        // A rolled-back batch leaves these behind; that only costs a lookup later, never a missed duplicate
+        inserts.forEach(job -> jobFingerprintFilter.put(job.getFingerprint()));
+
+        return new WriteCounts(inserts.size(), updates.size(), jobs.size() - inserts.size() - updates.size());
+    }
+
+    private Map<String, Stored> findExisting(List<String> fingerprints) {
+        Map<String, Stored> existing = new HashMap<>();
+        if (fingerprints.isEmpty()) {
+            return existing;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_EXISTING);
+            ps.setArray(1, connection.createArrayOf("varchar", fingerprints.toArray()));
+            return ps;
+        }, rs -> {
+            existing.put(rs.getString("fingerprint"), new Stored(rs.getLong("id"), rs.getString("content_hash")));
+        });
+        return existing;
+    }
+
+    private void insert(List<Job> jobs, Timestamp now) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS, Long.class, jobs.size());
+        for (int i = 0; i < jobs.size(); i++) {
+            jobs.get(i).setId(ids.get(i));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_JOB, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Job job = jobs.get(i);
+                ps.setLong(1, job.getId());
+                ps.setString(2, job.getTitle());
+                ps.setString(3, job.getCompany());
+                ps.setString(4, job.getDescription());
+                ps.setString(5, job.getLocation());
+                setInteger(ps, 6, job.getMinSalary());
+                setInteger(ps, 7, job.getMaxSalary());
+                ps.setString(8, job.getExperienceLevel());
+                ps.setTimestamp(9, Timestamp.valueOf(job.getPostedDate() != null ? job.getPostedDate() : LocalDateTime.now()));
+                ps.setBoolean(10, job.getIsActive() == null || job.getIsActive());
+                ps.setString(11, job.getJobUrl());
+                ps.setString(12, job.getFingerprint());
+                ps.setString(13, job.getContentHash());
+                ps.setTimestamp(14, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return jobs.size();
+            }
+        });
+
+        insertSkills(jobs);
+    }
+
+    private void update(List<Job> jobs, Timestamp now) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_JOB, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Job job = jobs.get(i);
+                ps.setString(1, job.getDescription());
+                setInteger(ps, 2, job.getMinSalary());
+                setInteger(ps, 3, job.getMaxSalary());
+                ps.setString(4, job.getExperienceLevel());
+                ps.setBoolean(5, job.getIsActive() == null || job.getIsActive());
+                ps.setString(6, job.getContentHash());
+                ps.setTimestamp(7, now);
+                ps.setLong(8, job.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return jobs.size();
+            }
+        });
+
+        // Skills are replaced wholesale; diffing them would cost more than rewriting a handful of rows
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(DELETE_SKILLS);
+            ps.setArray(1, connection.createArrayOf("bigint", jobs.stream().map(Job::getId).toArray()));
+            return ps;
+        });
+        insertSkills(jobs);
+    }
+
+    private void insertSkills(List<Job> jobs) {
+        List<Object[]> skillRows = new ArrayList<>();
+        for (Job job : jobs) {
+            if (job.getSkills() == null) continue;
+            for (String skill : job.getSkills()) {
+                skillRows.add(new Object[]{job.getId(), skill});
+            }
+        }
+
+        if (!skillRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SKILL, skillRows, new int[]{Types.BIGINT, Types.VARCHAR});
+        }
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ft.searchengine.repository;
+
+import com.ft.searchengine.entity.Job;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+/**
+ * Queues jobs saved through JPA for near-real-time indexing. The callbacks run while Hibernate
+ * flushes, on the connection of the writing transaction, so the outbox row commits or rolls back
+ * with the change itself. Created by Hibernate through Spring, which injects the repository.
+ */
+public class JobOutboxListener {
+
+    @Autowired
+    private JobOutboxRepository jobOutboxRepository;
+
+    @PostPersist
+    @PostUpdate
+    public void onChange(Job job) {
+        jobOutboxRepository.record(List.of(job.getId()));
+    }
+}
@@ -0,0 +1,76 @@
+package com.ft.searchengine.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC access to the {@code job_outbox} table. Writers call {@link #record} inside the transaction
+ * that changes the jobs; the drainer claims, indexes and deletes entries in a transaction of its own.
+ */
+@Repository
+public class JobOutboxRepository {
+
+    private static final String INSERT =
+            "INSERT INTO job_outbox (job_id, created_at) VALUES (?, ?)";
+
+    // SKIP LOCKED lets several nodes drain at once, each taking different entries. The advisory lock
+    // keeps each job with one drainer until its transaction ends: a node that read an older version
+    // of a job could otherwise index it after another node indexed the newer one. It is only tried on
+    // the rows the limit kept; in the WHERE clause of the inner query it would run, and take a lock,
+    // for every row scanned. Rows whose job another drainer holds stay row-locked but are not returned
+    private static final String CLAIM =
+            "SELECT id, job_id FROM (" +
+            "SELECT id, job_id FROM job_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED" +
+            ") candidates WHERE pg_try_advisory_xact_lock(job_id) ORDER BY id";
+
+    private static final String DELETE =
+            "DELETE FROM job_outbox WHERE id = ANY(?)";
+
+    private static final String COUNT =
+            "SELECT count(*) FROM job_outbox";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public record Entry(long id, long jobId) {
+    }
+
+    public void record(Collection<Long> jobIds) {
+        if (jobIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT, jobIds, jobIds.size(), (ps, jobId) -> {
+            ps.setLong(1, jobId);
+            ps.setTimestamp(2, now);
+        });
+    }
+
+    /**
+     * Locks and returns the oldest entries whose job no other transaction is draining. Must run in a
+     * transaction; the entries and their jobs stay locked until it ends.
+     */
+    public List<Entry> claim(int limit) {
+        return jdbcTemplate.query(CLAIM, (rs, rowNum) -> new Entry(rs.getLong("id"), rs.getLong("job_id")), limit);
+    }
+
+    public void delete(List<Long> ids) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(DELETE);
+            ps.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        });
+    }
+
+    public long pending() {
+        Long count = jdbcTemplate.queryForObject(COUNT, Long.class);
+        return count == null ? 0 : count;
+    }
+}
@@ -1,427 +1,414 @@
 package com.ft.searchengine.service;
 
 import com.ft.searchengine.entity.Job;
-import com.ft.searchengine.repository.JobsRepository;
+import com.ft.searchengine.repository.JobBatchRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
-//import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
-
-import static ch.qos.logback.core.util.StringUtil.capitalizeFirstLetter;
-
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming CSV import.
+ * <p>
+ * The import thread reads records in chunks and hands each chunk to the shared
+ * {@code importParserExecutor}, which turns it into {@link Job}s; the import thread then writes the
+ * parsed chunks, in file order, in JDBC batches. At most {@code jobseek.import.queue-capacity} rows
+ * are read ahead of the writes, so memory stays flat whatever the file size. Parser tasks never
+ * block, so concurrent imports share the pool without waiting on each other; if one fails, even
+ * with an {@link Error}, the import stops, cancels its other chunks and is marked failed.
+ * <p>
+ * Uploads submitted through {@link #submitImport} run on the bounded {@code importTaskExecutor};
+ * their {@link ImportResult} is kept for an hour after they finish so clients can poll it.
+ */
 @Service
 @Slf4j
 public class DataImportService {
 
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final Duration FINISHED_IMPORT_RETENTION = Duration.ofHours(1);
+
+    private static final int CHUNK_ROWS = 500;
+
     @Autowired
-    private JobsRepository jobRepository;
+    private JobCsvParser jobCsvParser;
 
-    public ImportResult importFromCsv(MultipartFile file) {
-        ImportResult result = new ImportResult();
+    @Autowired
+    private JobBatchRepository jobBatchRepository;
 
-        try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream()));
-             CSVParser csvParser = new CSVParser(reader,
-                     CSVFormat.DEFAULT
-                             .withFirstRecordAsHeader()
-                             .withIgnoreHeaderCase()
-                             .withTrim())) {
+    @Value("${jobseek.import.queue-capacity:5000}")
+    private int queueCapacity;
 
-            List<Job> batch = new ArrayList<>();
-            int rowNumber = 0;
+    @Value("${jobseek.import.batch-size:1000}")
+    private int batchSize;
 
-            for (CSVRecord record : csvParser) {
-                rowNumber++;
+    @Autowired
+    @Qualifier("importTaskExecutor")
+    private TaskExecutor importTaskExecutor;
 
-                try {
-                    Job job = parseJob(record);
+    @Autowired
+    @Qualifier("importParserExecutor")
+    private AsyncTaskExecutor importParserExecutor;
 
-                    // Validate job has minimum required fields
-                    if (job.getTitle() == null || job.getTitle().isEmpty()) {
-                        result.errorCount++;
-                        result.errors.add("Row " + rowNumber + ": Missing title");
-                        continue;
-                    }
+    private final Map<String, ImportResult> imports = new ConcurrentHashMap<>();
 
-                    if (job.getCompany() == null || job.getCompany().isEmpty()) {
-                        result.errorCount++;
-                        result.errors.add("Row " + rowNumber + ": Missing company");
-                        continue;
-                    }
+    /**
+     * Spools the upload to a temp file and queues the import, returning as soon as it is accepted.
+     *
+     * @throws TaskRejectedException when the import executor is already at capacity
+     */
+    public ImportResult submitImport(MultipartFile file) throws IOException {
+        evictFinishedImports();
 
-                    batch.add(job);
+        // The multipart temp file is deleted when the request ends, so keep our own copy
+        Path upload = Files.createTempFile("jobs-import-", ".csv");
+        file.transferTo(upload);
 
+        ImportResult result = new ImportResult(UUID.randomUUID().toString(), file.getOriginalFilename(), file.getSize());
+        imports.put(result.getImportId(), result);
 
-                    if (batch.size() >= 50) {
-                        try {
-                            jobRepository.saveAll(batch);
-                            result.successCount += batch.size();
-                            log.info("Imported {} jobs so far...", result.successCount);
-                        } catch (Exception e) {
-                            log.error("Failed to save batch: {}", e.getMessage());
-                            result.errorCount += batch.size();
-                            result.errors.add("Batch save failed: " + e.getMessage());
-                        }
-                        batch.clear();
-                    }
+        try {
+            importTaskExecutor.execute(() -> runImport(upload, result));
+        } catch (TaskRejectedException e) {
+            imports.remove(result.getImportId());
+            Files.deleteIfExists(upload);
+            throw e;
+        }
 
-                } catch (Exception e) {
-                    result.errorCount++;
-                    String errorMsg = "Row " + rowNumber + ": " + e.getMessage();
-                    result.errors.add(errorMsg);
-                    log.warn(errorMsg);
-                }
+        log.info("Queued import {} for file {}", result.getImportId(), file.getOriginalFilename());
+        return result;
+    }
+
+    public ImportResult getImport(String importId) {
+        return imports.get(importId);
+    }
+
+    private void runImport(Path upload, ImportResult result) {
+        try (InputStream in = Files.newInputStream(upload)) {
+            importFromCsv(in, result);
+        } catch (Exception e) {
+            log.error("Import {} failed: {}", result.getImportId(), e.getMessage(), e);
+            result.addError("Import failed: " + e.getMessage());
+            result.finish(ImportStatus.FAILED);
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Could not delete import spool file {}: {}", upload, e.getMessage());
             }
+        }
+    }
 
+    private void importFromCsv(InputStream in, ImportResult result) {
+        result.start();
+        int maxPendingChunks = Math.max(1, queueCapacity / CHUNK_ROWS);
+        Deque<Future<List<Job>>> pending = new ArrayDeque<>();
+        List<Job> batch = new ArrayList<>(batchSize);
+        // Anything that escapes the block below, an Error included, leaves the import failed
+        ImportStatus finalStatus = ImportStatus.FAILED;
 
-            if (!batch.isEmpty()) {
-                try {
-                    jobRepository.saveAll(batch);
-                    result.successCount += batch.size();
-                    log.info("Saved final batch of {} jobs", batch.size());
-                } catch (Exception e) {
-                    log.error("Failed to save final batch: {}", e.getMessage());
-                    result.errorCount += batch.size();
-                    result.errors.add("Final batch save failed: " + e.getMessage());
+        try {
+            boolean readComplete = true;
+            try (Reader reader = new BufferedReader(new InputStreamReader(
+                         new CountingInputStream(in, result.bytesRead), StandardCharsets.UTF_8));
+                 CSVParser csvParser = new CSVParser(reader,
+                         CSVFormat.DEFAULT
+                                 .withFirstRecordAsHeader()
+                                 .withIgnoreHeaderCase()
+                                 .withTrim())) {
+
+                long rowNumber = 0;
+                List<RawRow> chunk = new ArrayList<>(CHUNK_ROWS);
+                for (CSVRecord record : csvParser) {
+                    chunk.add(new RawRow(++rowNumber, record));
+                    result.rowsRead.incrementAndGet();
+                    if (chunk.size() == CHUNK_ROWS) {
+                        pending.add(submitChunk(chunk, result));
+                        chunk = new ArrayList<>(CHUNK_ROWS);
+                    }
+                    if (pending.size() >= maxPendingChunks) {
+                        write(pending.poll(), batch, result);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    pending.add(submitChunk(chunk, result));
                 }
+            } catch (InterruptedException | ExecutionException e) {
+                throw e;
+            } catch (Exception e) {
+                // Keep whatever was read so far: write the chunks already parsed before returning
+                log.error("Import failed: {}", e.getMessage(), e);
+                result.addError("Import failed: " + e.getMessage());
+                readComplete = false;
             }
 
-            log.info("Import completed: {} success, {} errors", result.successCount, result.errorCount);
-
+            while (!pending.isEmpty()) {
+                write(pending.poll(), batch, result);
+            }
+            flush(batch, result);
+            finalStatus = readComplete ? ImportStatus.COMPLETED : ImportStatus.FAILED;
+
+            log.info("Import {} completed: {} success, {} errors", result.getImportId(),
+                    result.getSuccessCount(), result.getErrorCount());
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.addError("Import interrupted");
+        } catch (ExecutionException e) {
+            log.error("Import {} failed while parsing: {}", result.getImportId(), e.getCause(), e.getCause());
+            result.addError("Import failed: " + e.getCause());
         } catch (Exception e) {
             log.error("Import failed: {}", e.getMessage(), e);
-            result.errors.add("Import failed: " + e.getMessage());
+            result.addError("Import failed: " + e.getMessage());
+        } finally {
+            pending.forEach(chunk -> chunk.cancel(true));
+            result.finish(finalStatus);
         }
-
-        return result;
     }
-    private String getField(CSVRecord record, String fieldName) {
-        try {
-            String value = record.get(fieldName);
-            return value != null && !value.trim().isEmpty() ? value.trim() : null;
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
+
+    private void evictFinishedImports() {
+        Instant cutoff = Instant.now().minus(FINISHED_IMPORT_RETENTION);
+        imports.values().removeIf(r -> r.getFinishedAt() != null && r.getFinishedAt().isBefore(cutoff));
     }
 
-    private Integer parseInteger(String value) {
-        if (value == null || value.isEmpty()) {
-            return null;
-        }
-        try {
-            // Remove any non-numeric characters except minus
-            String cleaned = value.replaceAll("[^0-9-]", "");
-            return Integer.parseInt(cleaned);
-        } catch (NumberFormatException e) {
-            return null;
-        }
+    private Future<List<Job>> submitChunk(List<RawRow> chunk, ImportResult result) {
+        return importParserExecutor.submit(() -> parseChunk(chunk, result));
     }
 
-    private Job parseJob(CSVRecord record) {
-        Job job = new Job();
-
-        // Map CSV columns to our Job entity
-        job.setTitle(getField(record, "title"));
-        job.setCompany(getField(record, "company_name"));
-        job.setDescription(getField(record, "description"));
-        job.setLocation(getField(record, "location"));
-        String jobUrl = getField(record, "job_posting_url");
-        if (jobUrl == null || jobUrl.isEmpty()) {
-            jobUrl = getField(record, "application_url");
-        }
-        job.setJobUrl(jobUrl);
+    private List<Job> parseChunk(List<RawRow> chunk, ImportResult result) {
+        List<Job> jobs = new ArrayList<>(chunk.size());
+        for (RawRow row : chunk) {
+            try {
+                Job job = jobCsvParser.parseJob(row.record());
 
-        job.setMinSalary(parseInteger(getField(record, "min_salary")));
-        job.setMaxSalary(parseInteger(getField(record, "max_salary")));
+                // Validate job has minimum required fields
+                if (job.getTitle() == null || job.getTitle().isEmpty()) {
+                    result.addRowError("Row " + row.number() + ": Missing title");
+                    continue;
+                }
 
+                if (job.getCompany() == null || job.getCompany().isEmpty()) {
+                    result.addRowError("Row " + row.number() + ": Missing company");
+                    continue;
+                }
 
-        String skillsDesc = getField(record, "skills_desc");
-        if (skillsDesc != null && !skillsDesc.isEmpty()) {
-            List<String> skills = extractSkills(skillsDesc);
-            job.setSkills(skills);
-        } else {
+                jobs.add(job);
 
-            String description = getField(record, "description");
-            if (description != null) {
-                job.setSkills(extractSkillsFromDescription(description));
+            } catch (Exception e) {
+                String errorMsg = "Row " + row.number() + ": " + e.getMessage();
+                result.addRowError(errorMsg);
+                log.warn(errorMsg);
             }
         }
+        return jobs;
+    }
 
-        // Parse experience level from formatted_experience_level
-        String experienceLevel = getField(record, "formatted_experience_level");
-        if (experienceLevel != null && !experienceLevel.isEmpty()) {
-            job.setExperienceLevel(mapExperienceLevel(experienceLevel));
-        } else {
-            job.setExperienceLevel("Mid"); // Default
-        }
-
-        // Parse date from listed_time or original_listed_time
-        String listedTime = getField(record, "listed_time");
-        if (listedTime == null || listedTime.isEmpty()) {
-            listedTime = getField(record, "original_listed_time");
-        }
-
-        if (listedTime != null && !listedTime.isEmpty()) {
-            job.setPostedDate(parseDateFromTimestamp(listedTime));
-        } else {
-            job.setPostedDate(LocalDateTime.now());
+    private void write(Future<List<Job>> chunk, List<Job> batch, ImportResult result)
+            throws InterruptedException, ExecutionException {
+        for (Job job : chunk.get()) {
+            batch.add(job);
+            if (batch.size() >= batchSize) {
+                flush(batch, result);
+            }
         }
-
-        // Check if job is active (not closed)
-        String closedTime = getField(record, "closed_time");
-        job.setIsActive(closedTime == null || closedTime.isEmpty());
-        log.info("----------------------{}-----",job.getTitle());
-        return job;
     }
 
-
-    private List<String> extractSkills(String skillsDesc) {
-        List<String> skills = new ArrayList<>();
-
-        if (skillsDesc == null || skillsDesc.isEmpty()) {
-            return skills;
+    private void flush(List<Job> batch, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
         }
 
-
-        String[] parts = skillsDesc.split("[,;|\\n\\r]+");
-
-        for (String part : parts) {
-            String cleaned = part.trim();
-
-
-            if (cleaned.length() >= 2 && cleaned.length() <= 50) {
-
-                cleaned = capitalizeFirstLetter(cleaned);
-                skills.add(cleaned);
-
-
-                if (skills.size() >= 15) break;
+        try {
+            JobBatchRepository.WriteCounts counts;
+            try {
+                counts = jobBatchRepository.upsertAll(batch, false);
+            } catch (DuplicateKeyException e) {
+                // Another writer stored one of these postings after the filter was last told about it
+                log.debug("Retrying batch with a full fingerprint lookup: {}", e.getMessage());
+                counts = jobBatchRepository.upsertAll(batch, true);
             }
+            result.successCount.addAndGet(batch.size());
+            result.updatedCount.addAndGet(counts.updated());
+            result.unchangedCount.addAndGet(counts.unchanged());
+            log.info("Imported {} jobs so far ({} updated, {} unchanged)...",
+                    result.getSuccessCount(), result.getUpdatedCount(), result.getUnchangedCount());
+        } catch (Exception e) {
+            log.error("Failed to save batch: {}", e.getMessage());
+            result.errorCount.addAndGet(batch.size());
+            result.addError("Batch save failed: " + e.getMessage());
         }
-
-        return skills;
+        batch.clear();
     }
 
+    private record RawRow(long number, CSVRecord record) {
+    }
 
-    private List<String> extractSkillsFromDescription(String description) {
-        List<String> skills = new ArrayList<>();
+    private static class CountingInputStream extends FilterInputStream {
+        private final AtomicLong count;
 
-        if (description == null || description.isEmpty()) {
-            return skills;
+        CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
         }
 
-
-        String[] skillIndicators = {
-                "experience with", "proficient in", "knowledge of", "skilled in",
-                "expertise in", "familiar with", "competent in", "strong in",
-                "ability to", "experience in", "background in", "understanding of",
-                "must know", "required:", "requirements:", "qualifications:",
-                "skills:", "abilities:", "competencies:"
-        };
-
-        String lowerDesc = description.toLowerCase();
-
-
-        for (String indicator : skillIndicators) {
-            int index = lowerDesc.indexOf(indicator);
-            if (index != -1) {
-
-                int endIndex = Math.min(index + indicator.length() + 200, description.length());
-                String skillSection = description.substring(index + indicator.length(), endIndex);
-
-
-                String[] parts = skillSection.split("[,;.\\n\\r]+");
-
-                for (String part : parts) {
-                    String cleaned = part.trim();
-
-
-                    if (cleaned.length() >= 3 && cleaned.length() <= 50) {
-                        // Remove common filler words from the start
-                        cleaned = cleaned.replaceFirst("^(and|or|the|a|an|in|with|using)\\s+", "");
-                        cleaned = capitalizeFirstLetter(cleaned.trim());
-
-                        if (cleaned.length() >= 3 && !skills.contains(cleaned)) {
-                            skills.add(cleaned);
-                            if (skills.size() >= 10) return skills;
-                        }
-                    }
-                }
-            }
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count.incrementAndGet();
+            return b;
         }
 
-
-        if (skills.isEmpty()) {
-            skills = extractCommonJobTerms(description);
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count.addAndGet(n);
+            return n;
         }
-
-        return skills;
     }
 
+    public enum ImportStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
 
-    private List<String> extractCommonJobTerms(String description) {
-        List<String> terms = new ArrayList<>();
-
-        if (description == null || description.isEmpty()) {
-            return terms;
+    // Result class; also serves as the live progress report while the import runs
+    public static class ImportResult {
+        private final String importId;
+        private final String fileName;
+        private final long totalBytes;
+        private final AtomicLong bytesRead = new AtomicLong();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicInteger successCount = new AtomicInteger();
+        private final AtomicInteger updatedCount = new AtomicInteger();
+        private final AtomicInteger unchangedCount = new AtomicInteger();
+        private final AtomicInteger errorCount = new AtomicInteger();
+        private final List<String> errors = new CopyOnWriteArrayList<>();
+        private volatile ImportStatus status = ImportStatus.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+
+        ImportResult(String importId, String fileName, long totalBytes) {
+            this.importId = importId;
+            this.fileName = fileName;
+            this.totalBytes = totalBytes;
         }
 
+        public String getImportId() {
+            return importId;
+        }
 
-        String[] universalSkills = {
-
-                "Communication", "Leadership", "Teamwork", "Problem Solving", "Time Management",
-                "Organization", "Attention to Detail", "Customer Service", "Multitasking",
-                "Critical Thinking", "Adaptability", "Collaboration", "Creativity",
-
-
-                "Microsoft Office", "Excel", "Word", "PowerPoint", "Email", "Scheduling",
-                "Data Entry", "Filing", "Phone Skills", "Calendar Management",
-
-                // Sales/Marketing
-                "Sales", "Marketing", "Social Media", "Advertising", "Cold Calling",
-                "Negotiation", "Presentation", "Client Relations", "Account Management",
-
-                // HR/Recruiting
-                "Recruiting", "Interviewing", "Onboarding", "HR", "Benefits", "Payroll",
-                "Employee Relations", "Training", "Performance Management",
-
-                // Customer Service
-                "Customer Support", "Help Desk", "Client Relations", "Complaint Resolution",
-                "Call Center", "Chat Support", "Email Support",
-
-                // Healthcare
-                "Patient Care", "Medical Records", "HIPAA", "CPR", "First Aid",
-                "Clinical", "Nursing", "Pharmaceutical", "Diagnosis", "Treatment",
-
-                // Transportation/Logistics
-                "Driving", "CDL", "Delivery", "Route Planning", "GPS", "Vehicle Maintenance",
-                "Logistics", "Supply Chain", "Inventory", "Warehouse",
+        public String getFileName() {
+            return fileName;
+        }
 
-                // Hospitality
-                "Customer Service", "Food Service", "Bartending", "Housekeeping",
-                "Front Desk", "Reservations", "POS Systems", "Cash Handling",
+        public ImportStatus getStatus() {
+            return status;
+        }
 
-                // Retail
-                "Cash Register", "POS", "Inventory Management", "Visual Merchandising",
-                "Stocking", "Loss Prevention", "Product Knowledge", "Upselling",
+        public long getTotalBytes() {
+            return totalBytes;
+        }
 
-                // Manufacturing
-                "Assembly", "Quality Control", "Machine Operation", "Forklift",
-                "Safety Procedures", "Production", "Packaging", "Inspection",
+        public long getBytesRead() {
+            return bytesRead.get();
+        }
 
-                // Finance/Accounting
-                "Accounting", "Bookkeeping", "QuickBooks", "Financial Analysis",
-                "Budgeting", "Tax Preparation", "Auditing", "Accounts Payable",
+        public long getRowsRead() {
+            return rowsRead.get();
+        }
 
-                // Education
-                "Teaching", "Curriculum Development", "Classroom Management",
-                "Lesson Planning", "Student Assessment", "Tutoring", "Mentoring",
+        // Rows stored, including postings that were already present
+        public int getSuccessCount() {
+            return successCount.get();
+        }
 
-                // Tech (basic - not just programming)
-                "Computer Skills", "Typing", "Internet", "Basic Troubleshooting",
-                "Software", "Hardware", "Windows", "Mac", "Mobile Devices",
+        // Postings already stored whose content changed, updated in place
+        public int getUpdatedCount() {
+            return updatedCount.get();
+        }
 
-                // Legal
-                "Legal Research", "Contract Review", "Compliance", "Documentation",
-                "Litigation", "Paralegal", "Case Management",
+        // Postings already stored with identical content, skipped
+        public int getUnchangedCount() {
+            return unchangedCount.get();
+        }
 
-                // Creative
-                "Graphic Design", "Photography", "Video Editing", "Writing",
-                "Copywriting", "Content Creation", "Adobe", "Photoshop", "Illustrator",
+        // Rows rejected by validation or lost in a failed batch
+        public int getErrorCount() {
+            return errorCount.get();
+        }
 
-                // General Professional
-                "Project Management", "Report Writing", "Meeting Facilitation",
-                "Vendor Management", "Budget Management", "Process Improvement"
-        };
+        public Instant getStartedAt() {
+            return startedAt;
+        }
 
-        String lowerDesc = description.toLowerCase();
+        public Instant getFinishedAt() {
+            return finishedAt;
+        }
 
-        for (String skill : universalSkills) {
-            if (lowerDesc.contains(skill.toLowerCase())) {
-                if (!terms.contains(skill)) {
-                    terms.add(skill);
-                    if (terms.size() >= 10) break;
-                }
+        public double getRowsPerSecond() {
+            if (startedAt == null) {
+                return 0;
             }
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long elapsedMs = Math.max(1, Duration.between(startedAt, end).toMillis());
+            return rowsRead.get() * 1000.0 / elapsedMs;
         }
 
-        return terms;
-    }
-
-
-    private String capitalizeFirstLetter(String str) {
-        if (str == null || str.isEmpty()) {
-            return str;
+        // Only the first MAX_REPORTED_ERRORS messages are kept so a bad file cannot grow the heap
+        public List<String> getErrors() {
+            return errors;
         }
-        return str.substring(0, 1).toUpperCase() + str.substring(1);
-    }
-
 
-    private String mapExperienceLevel(String level) {
-        if (level == null) return "Mid";
-
-        String lower = level.toLowerCase();
-
-        if (lower.contains("entry") || lower.contains("junior") || lower.contains("associate")) {
-            return "Entry";
-        } else if (lower.contains("senior") || lower.contains("sr.") || lower.contains("lead")) {
-            return "Senior";
-        } else if (lower.contains("mid") || lower.contains("intermediate")) {
-            return "Mid";
-        } else if (lower.contains("director") || lower.contains("manager") || lower.contains("principal")) {
-            return "Lead";
+        void start() {
+            startedAt = Instant.now();
+            status = ImportStatus.RUNNING;
         }
 
-        return "Mid"; // Default
-    }
-
-
-    private LocalDateTime parseDateFromTimestamp(String timestamp) {
-        try {
+        void finish(ImportStatus finalStatus) {
+            finishedAt = Instant.now();
+            status = finalStatus;
+        }
 
-            long millis = Long.parseLong(timestamp);
-            return LocalDateTime.ofInstant(
-                    java.time.Instant.ofEpochMilli(millis),
-                    java.time.ZoneId.systemDefault()
-            );
-        } catch (NumberFormatException e) {
-            try {
-                return LocalDateTime.parse(timestamp, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-            } catch (Exception e2) {
-                return LocalDateTime.now();
-            }
+        void addRowError(String message) {
+            errorCount.incrementAndGet();
+            addError(message);
         }
-    }
 
-    private LocalDateTime parseDate(String dateStr) {
-        try {
-            return LocalDateTime.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        } catch (DateTimeParseException e) {
-            try {
-                return LocalDateTime.parse(dateStr, DateTimeFormatter.ISO_DATE_TIME);
-            } catch (DateTimeParseException e2) {
-                return LocalDateTime.now();
+        void addError(String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(message);
             }
         }
     }
-
-    // Result class
-    public static class ImportResult {
-        public int successCount = 0;
-        public int errorCount = 0;
-        public List<String> errors = new ArrayList<>();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,273 @@
+package com.ft.searchengine.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.util.BinaryData;
+import co.elastic.clients.util.ContentType;
+import com.ft.searchengine.document.JobDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes {@link JobDocument}s to Elasticsearch through the bulk API.
+ * <p>
+ * Each call is cut into bulk requests by operation count and by payload bytes. A process-wide
+ * semaphore bounds how many bulk requests are in flight at once, however many sync partitions are
+ * writing. Items rejected with 429 (or a whole request rejected with 429) are retried with
+ * exponential backoff; any other per-item error is returned to the caller instead of failing the
+ * batch, so one bad document costs one document. Callers holding locks while they index can bound
+ * the whole call, slot waits and backoff included, with a time limit.
+ */
+@Service
+@Slf4j
+public class JobBulkIndexer {
+
+    private static final long MAX_BACKOFF_MS = 10_000;
+
+    @Autowired
+    private ElasticsearchClient elasticsearchClient;
+
+    @Autowired
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Value("${jobseek.indexing.max-actions:1000}")
+    private int maxActions;
+
+    @Value("${jobseek.indexing.max-bytes:5242880}")
+    private long maxBytes;
+
+    @Value("${jobseek.indexing.max-retries:5}")
+    private int maxRetries;
+
+    @Value("${jobseek.indexing.initial-backoff-ms:100}")
+    private long initialBackoffMs;
+
+    @Value("${jobseek.indexing.refresh:false}")
+    private String refresh;
+
+    private final Semaphore inFlight;
+
+    private final LongAdder docsIndexed = new LongAdder();
+    private final LongAdder docsDeleted = new LongAdder();
+    private final LongAdder docsFailed = new LongAdder();
+    private final LongAdder bulkRequests = new LongAdder();
+    private final LongAdder bulkRetries = new LongAdder();
+    private final LongAdder bulkLatencyMs = new LongAdder();
+    private final AtomicLong maxBulkLatencyMs = new AtomicLong();
+    private final long startedAt = System.currentTimeMillis();
+
+    public JobBulkIndexer(@Value("${jobseek.indexing.max-in-flight:4}") int maxInFlight) {
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    public record ItemFailure(String id, int status, String reason) {
+    }
+
+    public record BulkResult(int indexed, int deleted, List<ItemFailure> failures, long tookMs) {
+    }
+
+    public record IndexingStats(long docsIndexed, long docsDeleted, long docsFailed, long bulkRequests,
+                                long bulkRetries, double avgBulkLatencyMs, long maxBulkLatencyMs,
+                                double docsPerSecond) {
+    }
+
+    private record Pending(String id, BulkOperation operation, boolean delete) {
+    }
+
+    // Long.MAX_VALUE as deadline means no time limit
+    private record Call(long deadline, boolean requireAlias) {
+    }
+
+    public String indexName() {
+        return elasticsearchOperations.getIndexCoordinatesFor(JobDocument.class).getIndexName();
+    }
+
+    /**
+     * Indexes {@code upserts} and deletes {@code deleteIds} in {@code index}, blocking until every
+     * operation has either succeeded or failed for good.
+     */
+    public BulkResult index(String index, List<JobDocument> upserts, List<String> deleteIds) throws IOException {
+        return index(index, upserts, deleteIds, new Call(Long.MAX_VALUE, false));
+    }
+
+    /**
+     * Like {@link #index(String, List, List)}, but gives up with an {@link IOException} once
+     * {@code timeLimit} has passed instead of waiting longer for a bulk slot or another retry;
+     * operations sent before that point stay applied. The target must be an alias: if it has been
+     * removed, its items fail instead of Elasticsearch auto-creating an index under its name.
+     */
+    public BulkResult indexAlias(String alias, List<JobDocument> upserts, List<String> deleteIds,
+                                 Duration timeLimit) throws IOException {
+        return index(alias, upserts, deleteIds, new Call(System.currentTimeMillis() + timeLimit.toMillis(), true));
+    }
+
+    private BulkResult index(String index, List<JobDocument> upserts, List<String> deleteIds, Call call)
+            throws IOException {
+        long start = System.currentTimeMillis();
+        List<ItemFailure> failures = new ArrayList<>();
+        int[] counts = new int[2];
+
+        List<Pending> batch = new ArrayList<>();
+        long batchBytes = 0;
+
+        for (JobDocument doc : upserts) {
+            // Same mapping Spring Data uses for repository saves (field names, date format, _class)
+            byte[] json = elasticsearchOperations.getElasticsearchConverter()
+                    .mapObject(doc).toJson().getBytes(StandardCharsets.UTF_8);
+            BulkOperation op = BulkOperation.of(b -> b.index(i -> i
+                    .index(index)
+                    .id(doc.getId())
+                    .document(BinaryData.of(json, ContentType.APPLICATION_JSON))));
+
+            if (!batch.isEmpty() && (batch.size() >= maxActions || batchBytes + json.length > maxBytes)) {
+                send(batch, failures, counts, call);
+                batch = new ArrayList<>();
+                batchBytes = 0;
+            }
+            batch.add(new Pending(doc.getId(), op, false));
+            batchBytes += json.length;
+        }
+
+        for (String id : deleteIds) {
+            if (batch.size() >= maxActions) {
+                send(batch, failures, counts, call);
+                batch = new ArrayList<>();
+            }
+            batch.add(new Pending(id, BulkOperation.of(b -> b.delete(d -> d.index(index).id(id))), true));
+        }
+
+        if (!batch.isEmpty()) {
+            send(batch, failures, counts, call);
+        }
+
+        return new BulkResult(counts[0], counts[1], failures, System.currentTimeMillis() - start);
+    }
+
+    public IndexingStats getStats() {
+        long requests = bulkRequests.sum();
+        long elapsedMs = Math.max(1, System.currentTimeMillis() - startedAt);
+        return new IndexingStats(
+                docsIndexed.sum(),
+                docsDeleted.sum(),
+                docsFailed.sum(),
+                requests,
+                bulkRetries.sum(),
+                requests == 0 ? 0 : (double) bulkLatencyMs.sum() / requests,
+                maxBulkLatencyMs.get(),
+                (docsIndexed.sum() + docsDeleted.sum()) * 1000.0 / elapsedMs);
+    }
+
+    private void send(List<Pending> batch, List<ItemFailure> failures, int[] counts, Call call) throws IOException {
+        List<Pending> toSend = batch;
+
+        for (int attempt = 0; ; attempt++) {
+            BulkResponse response;
+            try {
+                response = execute(toSend, call);
+            } catch (ElasticsearchException e) {
+                if (e.status() == 429 && attempt < maxRetries) {
+                    log.warn("Bulk request rejected (429), retrying {} operations", toSend.size());
+                    bulkRetries.increment();
+                    backoff(attempt, call.deadline());
+                    continue;
+                }
+                throw e;
+            }
+
+            List<Pending> retry = new ArrayList<>();
+            List<BulkResponseItem> items = response.items();
+            for (int i = 0; i < items.size(); i++) {
+                BulkResponseItem item = items.get(i);
+                Pending pending = toSend.get(i);
+
+                if (item.error() == null || (pending.delete() && item.status() == 404)) {
+                    counts[pending.delete() ? 1 : 0]++;
+                    (pending.delete() ? docsDeleted : docsIndexed).increment();
+                } else if (item.status() == 429 && attempt < maxRetries) {
+                    retry.add(pending);
+                } else {
+                    failures.add(new ItemFailure(pending.id(), item.status(), item.error().reason()));
+                    docsFailed.increment();
+                }
+            }
+
+            if (retry.isEmpty()) {
+                return;
+            }
+            log.warn("{} bulk items rejected (429), retrying", retry.size());
+            bulkRetries.increment();
+            toSend = retry;
+            backoff(attempt, call.deadline());
+        }
+    }
+
+    private BulkResponse execute(List<Pending> operations, Call call) throws IOException {
+        try {
+            if (call.deadline() == Long.MAX_VALUE) {
+                inFlight.acquire();
+            } else if (!inFlight.tryAcquire(call.deadline() - System.currentTimeMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out waiting for a bulk slot");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a bulk slot", e);
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            return elasticsearchClient.bulk(r -> r
+                    .refresh(refreshPolicy())
+                    .requireAlias(call.requireAlias())
+                    .operations(operations.stream().map(Pending::operation).toList()));
+        } finally {
+            inFlight.release();
+            long took = System.currentTimeMillis() - start;
+            bulkRequests.increment();
+            bulkLatencyMs.add(took);
+            maxBulkLatencyMs.accumulateAndGet(took, Math::max);
+            log.debug("Bulk of {} operations took {}ms", operations.size(), took);
+        }
+    }
+
+    private Refresh refreshPolicy() {
+        return switch (refresh) {
+            case "true" -> Refresh.True;
+            case "wait_for" -> Refresh.WaitFor;
+            default -> Refresh.False;
+        };
+    }
+
+    private void backoff(int attempt, long deadline) throws IOException {
+        long delay = Math.min(MAX_BACKOFF_MS, initialBackoffMs << attempt);
+        // Equal jitter: half the delay is kept as a floor, the other half is random, so partitions
+        // that were rejected together do not retry together
+        long sleep = ThreadLocalRandom.current().nextLong(delay / 2, delay + 1);
+        if (System.currentTimeMillis() + sleep > deadline) {
+            throw new IOException("Bulk retries (429) did not finish within the time limit");
+        }
+        try {
+            Thread.sleep(sleep);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during bulk backoff", e);
+        }
+    }
+}
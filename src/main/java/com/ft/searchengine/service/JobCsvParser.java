@@ -0,0 +1,152 @@
+package com.ft.searchengine.service;
+
+import com.ft.searchengine.entity.Job;
+import com.ft.searchengine.skill.SkillDictionaryService;
+import com.ft.searchengine.skill.SkillExtractor;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Maps one LinkedIn-style CSV record to a {@link Job}.
+ * Stateless, so the import pipeline can share a single instance between its parser workers.
+ */
+@Component
+public class JobCsvParser {
+
+    private static final int MAX_DESCRIPTION_LENGTH = 5000;
+
+    @Autowired
+    private SkillExtractor skillExtractor;
+
+    @Autowired
+    private SkillDictionaryService skillDictionaryService;
+
+    public Job parseJob(CSVRecord record) {
+        Job job = new Job();
+
+        // Map CSV columns to our Job entity
+        job.setTitle(getField(record, "title"));
+        job.setCompany(getField(record, "company_name"));
+        String description = getField(record, "description");
+        job.setDescription(truncate(description, MAX_DESCRIPTION_LENGTH));
+        job.setLocation(getField(record, "location"));
+        String jobUrl = getField(record, "job_posting_url");
+        if (jobUrl == null || jobUrl.isEmpty()) {
+            jobUrl = getField(record, "application_url");
+        }
+        job.setJobUrl(jobUrl);
+
+        job.setMinSalary(parseInteger(getField(record, "min_salary")));
+        job.setMaxSalary(parseInteger(getField(record, "max_salary")));
+
+
+        String skillsDesc = getField(record, "skills_desc");
+        if (skillsDesc != null && !skillsDesc.isEmpty()) {
+            List<String> skills = skillExtractor.extractSkills(skillsDesc);
+            job.setSkills(skillDictionaryService.current().normalize(skills));
+        } else {
+
+            if (description != null) {
+                job.setSkills(skillDictionaryService.current().normalize(
+                        skillExtractor.extractSkillsFromDescription(description)));
+            }
+        }
+
+        // Parse experience level from formatted_experience_level
+        String experienceLevel = getField(record, "formatted_experience_level");
+        if (experienceLevel != null && !experienceLevel.isEmpty()) {
+            job.setExperienceLevel(mapExperienceLevel(experienceLevel));
+        } else {
+            job.setExperienceLevel("Mid"); // Default
+        }
+
+        // Parse date from listed_time or original_listed_time
+        String listedTime = getField(record, "listed_time");
+        if (listedTime == null || listedTime.isEmpty()) {
+            listedTime = getField(record, "original_listed_time");
+        }
+
+        if (listedTime != null && !listedTime.isEmpty()) {
+            job.setPostedDate(parseDateFromTimestamp(listedTime));
+        } else {
+            job.setPostedDate(LocalDateTime.now());
+        }
+
+        // Check if job is active (not closed)
+        String closedTime = getField(record, "closed_time");
+        job.setIsActive(closedTime == null || closedTime.isEmpty());
+        return job;
+    }
+
+    private String getField(CSVRecord record, String fieldName) {
+        try {
+            String value = record.get(fieldName);
+            return value != null && !value.trim().isEmpty() ? value.trim() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Integer parseInteger(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            // Remove any non-numeric characters except minus
+            String cleaned = value.replaceAll("[^0-9-]", "");
+            return Integer.parseInt(cleaned);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // The jobs.description column is varchar(5000); one oversized row used to fail its whole batch
+    private String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
+
+
+    private String mapExperienceLevel(String level) {
+        if (level == null) return "Mid";
+
+        String lower = level.toLowerCase();
+
+        if (lower.contains("entry") || lower.contains("junior") || lower.contains("associate")) {
+            return "Entry";
+        } else if (lower.contains("senior") || lower.contains("sr.") || lower.contains("lead")) {
+            return "Senior";
+        } else if (lower.contains("mid") || lower.contains("intermediate")) {
+            return "Mid";
+        } else if (lower.contains("director") || lower.contains("manager") || lower.contains("principal")) {
+            return "Lead";
+        }
+
+        return "Mid"; // Default
+    }
+
+
+    private LocalDateTime parseDateFromTimestamp(String timestamp) {
+        try {
+
+            long millis = Long.parseLong(timestamp);
+            return LocalDateTime.ofInstant(
+                    java.time.Instant.ofEpochMilli(millis),
+                    java.time.ZoneId.systemDefault()
+            );
+        } catch (NumberFormatException e) {
+            try {
+                return LocalDateTime.parse(timestamp, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            } catch (Exception e2) {
+                return LocalDateTime.now();
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.ft.searchengine.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ft.searchengine.document.JobDocument;
+import com.ft.searchengine.dto.JobSearchRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.BaseQuery;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilterBuilder;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Streams every job matching a search to an output stream, as NDJSON or CSV.
+ * <p>
+ * Hits are read in fixed-size batches from a point-in-time with {@code search_after} and written
+ * out before the next batch is fetched, so memory use does not depend on how many jobs match. Only
+ * the requested fields are loaded from {@code _source}.
+ */
+@Service
+@Slf4j
+public class JobExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    // Exportable fields in their default column order
+    private static final Map<String, Function<JobDocument, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("id", JobDocument::getId);
+        FIELDS.put("title", JobDocument::getTitle);
+        FIELDS.put("company", JobDocument::getCompany);
+        FIELDS.put("location", JobDocument::getLocation);
+        FIELDS.put("experienceLevel", JobDocument::getExperienceLevel);
+        FIELDS.put("minSalary", JobDocument::getMinSalary);
+        FIELDS.put("maxSalary", JobDocument::getMaxSalary);
+        FIELDS.put("skills", JobDocument::getSkills);
+        FIELDS.put("postedDate", JobDocument::getPostedDate);
+        FIELDS.put("isActive", JobDocument::getIsActive);
+        FIELDS.put("jobUrl", JobDocument::getJobUrl);
+        FIELDS.put("description", JobDocument::getDescription);
+    }
+
+    @Autowired
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Autowired
+    private JobSearchService jobSearchService;
+
+    @Autowired
+    private SearchRequestNormalizer searchRequestNormalizer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${jobseek.export.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${jobseek.search.cursor-keep-alive:5m}")
+    private Duration keepAlive;
+
+    /**
+     * Checks the requested field names, defaulting to all fields.
+     *
+     * @throws IllegalArgumentException for a field that cannot be exported
+     */
+    public List<String> resolveFields(List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return List.copyOf(FIELDS.keySet());
+        }
+        for (String field : fields) {
+            if (!FIELDS.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown export field: " + field);
+            }
+        }
+        return List.copyOf(fields);
+    }
+
+    public long export(JobSearchRequest request, List<String> fields, Format format, OutputStream out) throws IOException {
+        JobSearchRequest normalized = searchRequestNormalizer.normalize(request);
+        normalized.setPage(0);
+        normalized.setSize(batchSize);
+
+        RowWriter writer = format == Format.CSV ? csvWriter(out, fields) : ndjsonWriter(out, fields);
+        String pitId = elasticsearchOperations.openPointInTime(
+                elasticsearchOperations.getIndexCoordinatesFor(JobDocument.class), keepAlive, false);
+        long exported = 0;
+
+        try {
+            List<Object> searchAfter = null;
+            while (true) {
+                BaseQuery query = jobSearchService.buildQuery(normalized);
+                query.addSourceFilter(new FetchSourceFilterBuilder()
+                        .withIncludes(fields.stream().filter(f -> !f.equals("id")).toArray(String[]::new))
+                        .build());
+                query.setPointInTime(new Query.PointInTime(pitId, keepAlive));
+                query.setSearchAfter(searchAfter);
+                query.setTrackTotalHits(false);
+
+                SearchHits<JobDocument> hits = elasticsearchOperations.search(query, JobDocument.class);
+                for (SearchHit<JobDocument> hit : hits.getSearchHits()) {
+                    writer.write(hit.getContent());
+                }
+                writer.flush();
+                exported += hits.getSearchHits().size();
+
+                if (hits.getSearchHits().size() < batchSize) {
+                    break;
+                }
+                searchAfter = hits.getSearchHits().get(hits.getSearchHits().size() - 1).getSortValues();
+                if (hits.getPointInTimeId() != null) {
+                    pitId = hits.getPointInTimeId();
+                }
+            }
+        } finally {
+            elasticsearchOperations.closePointInTime(pitId);
+        }
+
+        log.info("Exported {} jobs as {}", exported, format);
+        return exported;
+    }
+
+    private interface RowWriter {
+        void write(JobDocument job) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private RowWriter ndjsonWriter(OutputStream out, List<String> fields) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(null);
+        generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        // Flushing is done once per batch, not once per value
+        ObjectWriter valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        return new RowWriter() {
+            @Override
+            public void write(JobDocument job) throws IOException {
+                generator.writeStartObject();
+                for (String field : fields) {
+                    Object value = FIELDS.get(field).apply(job);
+                    if (value != null) {
+                        generator.writeFieldName(field);
+                        valueWriter.writeValue(generator, value);
+                    }
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+
+            @Override
+            public void flush() throws IOException {
+                generator.flush();
+            }
+        };
+    }
+
+    private RowWriter csvWriter(OutputStream out, List<String> fields) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder()
+                .setHeader(fields.toArray(String[]::new))
+                .get());
+
+        return new RowWriter() {
+            @Override
+            public void write(JobDocument job) throws IOException {
+                for (String field : fields) {
+                    Object value = FIELDS.get(field).apply(job);
+                    printer.print(value instanceof List<?> list ? String.join(";", list.stream().map(String::valueOf).toList()) : value);
+                }
+                printer.println();
+            }
+
+            @Override
+            public void flush() throws IOException {
+                printer.flush();
+            }
+        };
+    }
+}
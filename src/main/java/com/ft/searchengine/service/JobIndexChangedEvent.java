@@ -0,0 +1,8 @@
+package com.ft.searchengine.service;
+
+/**
+ * Published after documents in the jobs index were added, changed or removed, so anything derived
+ * from search results (the result cache in particular) can be dropped.
+ */
+public record JobIndexChangedEvent(String reason) {
+}
@@ -0,0 +1,217 @@
+package com.ft.searchengine.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import com.ft.searchengine.document.JobDocument;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Owns the physical indices behind the {@code jobs} alias.
+ * <p>
+ * Every generation is a concrete index {@code jobs_vN}; searches and incremental syncs only ever
+ * address the alias. A full rebuild loads a new generation with replicas and refresh turned off,
+ * restores them, force-merges, and then moves the alias in a single {@code _aliases} call, so
+ * readers see either the old index or the complete new one, never a half-built one. While it loads,
+ * the generation is also behind the {@code jobs_reindex} alias, so the outbox drainer can write
+ * changes made during the rebuild to it as well as to the live index.
+ */
+@Service
+@Slf4j
+public class JobIndexManager {
+
+    @Autowired
+    private ElasticsearchClient elasticsearchClient;
+
+    @Autowired
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Value("${jobseek.index.replicas:0}")
+    private String replicas;
+
+    @Value("${jobseek.index.refresh-interval:1s}")
+    private String refreshInterval;
+
+    @Value("${jobseek.index.target-shard-size-mb:20480}")
+    private long targetShardSizeMb;
+
+    @Value("${jobseek.index.max-shards:8}")
+    private int maxShards;
+
+    public String alias() {
+        return elasticsearchOperations.getIndexCoordinatesFor(JobDocument.class).getIndexName();
+    }
+
+    public String reindexAlias() {
+        return alias() + "_reindex";
+    }
+
+    // True while a generation is being loaded; it is left behind the reindex alias until promoted or discarded
+    public boolean reindexing() throws IOException {
+        return elasticsearchClient.indices().existsAlias(e -> e.name(reindexAlias())).value();
+    }
+
+    // Runs before the scheduler starts, so nothing can auto-create a concrete index under the alias name
+    @PostConstruct
+    public void ensureAlias() {
+        String alias = alias();
+        try {
+            if (elasticsearchClient.indices().exists(e -> e.index(alias)).value()) {
+                return;
+            }
+            String index = createIndex(generationName(1), 1);
+            applySettings(index, replicas, refreshInterval);
+            elasticsearchClient.indices().updateAliases(u -> u.actions(a -> a.add(ad -> ad.index(index).alias(alias))));
+            log.info("Created index {} behind alias {}", index, alias);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not set up the " + alias + " alias", e);
+        }
+    }
+
+    /**
+     * Creates the next {@code jobs_vN} generation, tuned for a bulk load: no replicas and no
+     * periodic refresh. Nothing reads from it until {@link #promote(String)} is called.
+     */
+    public String createGeneration() throws IOException {
+        int next = existingGenerations().stream()
+                .mapToInt(this::generationNumber)
+                .max()
+                .orElse(0) + 1;
+
+        String index = createIndex(generationName(next), shardsFor(currentSizeBytes()));
+        applySettings(index, "0", "-1");
+
+        // A generation left behind by a node that died mid-rebuild stops receiving outbox writes
+        String reindexAlias = reindexAlias();
+        List<Action> actions = new ArrayList<>();
+        if (reindexing()) {
+            for (String stale : elasticsearchClient.indices().getAlias(g -> g.name(reindexAlias)).result().keySet()) {
+                actions.add(Action.of(a -> a.remove(r -> r.index(stale).alias(reindexAlias))));
+            }
+        }
+        actions.add(Action.of(a -> a.add(ad -> ad.index(index).alias(reindexAlias))));
+        elasticsearchClient.indices().updateAliases(u -> u.actions(actions));
+
+        log.info("Created index {} for bulk load", index);
+        return index;
+    }
+
+    /**
+     * Restores search settings on a fully loaded generation, merges it down, points the alias at it
+     * and drops the generation(s) it replaces.
+     */
+    public void promote(String index) throws IOException {
+        String alias = alias();
+
+        applySettings(index, replicas, refreshInterval);
+        elasticsearchClient.indices().refresh(r -> r.index(index));
+        try {
+            elasticsearchClient.indices().forcemerge(f -> f.index(index).maxNumSegments(1L));
+        } catch (IOException e) {
+            // The merge keeps running on the cluster; the index is usable either way
+            log.warn("Force merge of {} did not finish in time: {}", index, e.getMessage());
+        }
+
+        List<String> previous = new ArrayList<>();
+        List<Action> actions = new ArrayList<>();
+        if (elasticsearchClient.indices().existsAlias(e -> e.name(alias)).value()) {
+            previous.addAll(elasticsearchClient.indices().getAlias(g -> g.name(alias)).result().keySet());
+            for (String old : previous) {
+                actions.add(Action.of(a -> a.remove(r -> r.index(old).alias(alias))));
+            }
+        } else if (elasticsearchClient.indices().exists(e -> e.index(alias)).value()) {
+            // A concrete index from before aliases were used; it goes in the same atomic call
+            actions.add(Action.of(a -> a.removeIndex(r -> r.index(alias))));
+        }
+        actions.add(Action.of(a -> a.add(ad -> ad.index(index).alias(alias))));
+        // In the same call, so outbox writes that miss the reindex alias land in the new index through the main one
+        actions.add(Action.of(a -> a.remove(r -> r.index(index).alias(reindexAlias()).mustExist(false))));
+
+        elasticsearchClient.indices().updateAliases(u -> u.actions(actions));
+        log.info("Alias {} now points to {} (was {})", alias, index, previous);
+
+        previous.remove(index);
+        if (!previous.isEmpty()) {
+            elasticsearchClient.indices().delete(d -> d.index(previous));
+            log.info("Deleted previous generation(s) {}", previous);
+        }
+    }
+
+    // Drops a generation whose load failed; the alias was never moved, so searches are unaffected
+    public void discard(String index) {
+        try {
+            elasticsearchClient.indices().delete(d -> d.index(index));
+            log.info("Discarded unfinished index {}", index);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not delete unfinished index {}: {}", index, e.getMessage());
+        }
+    }
+
+    String createIndex(String index, int shards) {
+        IndexOperations template = elasticsearchOperations.indexOps(JobDocument.class);
+        Settings settings = withShards(template.createSettings(), shards);
+        elasticsearchOperations.indexOps(IndexCoordinates.of(index)).create(settings, template.createMapping());
+        return index;
+    }
+
+    // @Setting gives nested settings that already hold number_of_shards; a dotted key next to the nested
+    // one is a duplicate setting to Elasticsearch, so the shard count replaces it in the flattened form
+    static Settings withShards(Settings settings, int shards) {
+        Settings flat = settings.flatten();
+        flat.put("index.number_of_shards", String.valueOf(shards));
+        return flat;
+    }
+
+    // Shard count can only be set at creation, so it is sized from the generation being replaced
+    int shardsFor(long sizeBytes) {
+        long targetBytes = targetShardSizeMb * 1024 * 1024;
+        long shards = (sizeBytes + targetBytes - 1) / targetBytes;
+        return (int) Math.max(1, Math.min(maxShards, shards));
+    }
+
+    private long currentSizeBytes() throws IOException {
+        String alias = alias();
+        if (!elasticsearchClient.indices().exists(e -> e.index(alias)).value()) {
+            return 0;
+        }
+        return elasticsearchClient.indices().stats(s -> s.index(alias))
+                .all().primaries().store().sizeInBytes();
+    }
+
+    private void applySettings(String index, String replicas, String refreshInterval) throws IOException {
+        elasticsearchClient.indices().putSettings(p -> p
+                .index(index)
+                .settings(s -> s
+                        .numberOfReplicas(replicas)
+                        .refreshInterval(t -> t.time(refreshInterval))));
+    }
+
+    private Set<String> existingGenerations() throws IOException {
+        return elasticsearchClient.indices().get(g -> g.index(alias() + "_v*")).result().keySet();
+    }
+
+    private String generationName(int generation) {
+        return alias() + "_v" + generation;
+    }
+
+    private int generationNumber(String index) {
+        try {
+            return Integer.parseInt(index.substring(index.lastIndexOf("_v") + 2));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
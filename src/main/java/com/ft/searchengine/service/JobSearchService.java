@@ -1,60 +1,375 @@
 package com.ft.searchengine.service;
 
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.AggregationRange;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import com.ft.searchengine.document.JobDocument;
+import com.ft.searchengine.dto.CachedSearchResult;
+import com.ft.searchengine.dto.FacetBucket;
 import com.ft.searchengine.dto.JobSearchRequest;
 import com.ft.searchengine.dto.JobSearchResponse;
+import com.ft.searchengine.dto.JobSummary;
+import com.ft.searchengine.dto.SearchCursor;
+import com.ft.searchengine.dto.SearchFacets;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.core.AggregationsContainer;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
-import org.springframework.data.elasticsearch.core.query.Criteria;
-import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.query.BaseQuery;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilterBuilder;
+import org.springframework.data.elasticsearch.core.query.HighlightQuery;
+import org.springframework.data.elasticsearch.core.query.highlight.Highlight;
+import org.springframework.data.elasticsearch.core.query.highlight.HighlightField;
+import org.springframework.data.elasticsearch.core.query.highlight.HighlightParameters;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class JobSearchService {
 
+    public static final String CACHE_NAME = "jobSearch";
+    public static final String FACET_CACHE_NAME = "jobFacets";
+
+    private static final List<String> KEYWORD_FIELDS = List.of("title^3", "company^2", "description");
+
+    private static final String[] LIST_FIELDS = {
+            "title", "company", "location", "minSalary", "maxSalary", "experienceLevel", "skills", "postedDate", "jobUrl"
+    };
+    private static final int SNIPPET_LENGTH = 150;
+
+    // Term facets and how many values each returns, most frequent first
+    private static final Map<String, Integer> TERM_FACETS = Map.of(
+            "skills", 20,
+            "location", 20,
+            "experienceLevel", 10);
+    private static final String SALARY_FACET = "salary";
+    private static final List<AggregationRange> SALARY_BANDS = List.of(
+            AggregationRange.of(r -> r.key("<50k").to(50000.0)),
+            AggregationRange.of(r -> r.key("50k-75k").from(50000.0).to(75000.0)),
+            AggregationRange.of(r -> r.key("75k-100k").from(75000.0).to(100000.0)),
+            AggregationRange.of(r -> r.key("100k-150k").from(100000.0).to(150000.0)),
+            AggregationRange.of(r -> r.key("150k+").from(150000.0)));
+
     @Autowired
     private ElasticsearchOperations elasticsearchOperations;
 
-//    @Cacheable(value = "jobSearch", key = "#request.toString()")
+    @Autowired
+    private SearchRequestNormalizer searchRequestNormalizer;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    @Qualifier("searchRefreshExecutor")
+    private TaskExecutor searchRefreshExecutor;
+
+    @Autowired
+    private SearchCursorCodec searchCursorCodec;
+
+    @Value("${jobseek.search.cursor-keep-alive:5m}")
+    private Duration cursorKeepAlive;
+
+    @Value("${jobseek.search.max-batch:100}")
+    private int maxBatch;
+
+    @Value("${jobseek.cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    @Value("${jobseek.cache.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta;
+
+    // Searches currently running against Elasticsearch, by cache key
+    private final ConcurrentHashMap<String, CompletableFuture<JobSearchResponse>> inFlight = new ConcurrentHashMap<>();
+
     public JobSearchResponse searchJobs(JobSearchRequest request) {
         long startTime = System.currentTimeMillis();
 
-        log.info("Searching with params: {}", request);
-        log.info("CACHE MISS - Querying Elasticsearch"); //on the first request
+        JobSearchRequest normalized = searchRequestNormalizer.normalize(request);
+        String key = searchRequestNormalizer.cacheKey(normalized);
+
+        JobSearchResponse page;
+        boolean fromCache;
+        CachedSearchResult cached = searchCache().get(key, CachedSearchResult.class);
+        if (cached != null) {
+            log.debug("Cache hit for {}", key);
+            if (shouldRefreshEarly(cached)) {
+                refreshInBackground(key, normalized);
+            }
+            page = cached.getResponse();
+            fromCache = true;
+        } else {
+            log.info("Cache miss for {} - querying Elasticsearch", key);
+            page = searchOnce(key, normalized);
+            fromCache = false;
+        }
+
+        return respond(normalized, page, fromCache, startTime);
+    }
+
+    /**
+     * Runs many searches at once, answering each from the cache where possible and sending all the
+     * rest to Elasticsearch as one {@code _msearch}. Responses come back in request order.
+     *
+     * @throws IllegalArgumentException if more than {@code jobseek.search.max-batch} searches are given
+     */
+    public List<JobSearchResponse> searchJobs(List<JobSearchRequest> requests) {
+        if (requests.size() > maxBatch) {
+            throw new IllegalArgumentException("At most " + maxBatch + " searches per batch");
+        }
+        long startTime = System.currentTimeMillis();
+
+        List<JobSearchRequest> normalized = requests.stream().map(searchRequestNormalizer::normalize).toList();
+        Map<String, JobSearchResponse> pages = new HashMap<>();
+        Set<String> computed = new HashSet<>();
+        Set<String> facetsRequested = new HashSet<>();
+
+        // One query per distinct missing page, then one facet-only query per distinct missing facet set
+        List<BaseQuery> queries = new ArrayList<>();
+        List<Consumer<SearchHits<JobDocument>>> handlers = new ArrayList<>();
+        for (JobSearchRequest request : normalized) {
+            String key = searchRequestNormalizer.cacheKey(request);
+            if (pages.containsKey(key) || computed.contains(key)) {
+                continue;
+            }
+            CachedSearchResult cached = searchCache().get(key, CachedSearchResult.class);
+            if (cached != null) {
+                if (shouldRefreshEarly(cached)) {
+                    refreshInBackground(key, request);
+                }
+                pages.put(key, cached.getResponse());
+                continue;
+            }
+
+            computed.add(key);
+            boolean withFacets = needsFacets(request) && facetsRequested.add(searchRequestNormalizer.facetKey(request));
+            queries.add(pageQuery(request, withFacets));
+            handlers.add(hits -> {
+                JobSearchResponse page = toPage(request, hits, startTime, withFacets);
+                searchCache().put(key, new CachedSearchResult(page, startTime, page.getSearchTimeMs()));
+                pages.put(key, page);
+            });
+        }
+        for (JobSearchRequest request : normalized) {
+            String facetKey = searchRequestNormalizer.facetKey(request);
+            if (needsFacets(request) && facetsRequested.add(facetKey)) {
+                queries.add(facetQuery(request));
+                handlers.add(hits -> facetCache().put(facetKey, new SearchFacets(readFacets(hits.getAggregations()))));
+            }
+        }
+
+        if (!queries.isEmpty()) {
+            log.info("Batch of {} searches: {} sent to Elasticsearch in one request", requests.size(), queries.size());
+            List<SearchHits<JobDocument>> results = elasticsearchOperations.multiSearch(queries, JobDocument.class);
+            for (int i = 0; i < results.size(); i++) {
+                handlers.get(i).accept(results.get(i));
+            }
+        }
+
+        List<JobSearchResponse> responses = new ArrayList<>(normalized.size());
+        for (JobSearchRequest request : normalized) {
+            String key = searchRequestNormalizer.cacheKey(request);
+            responses.add(respond(request, pages.get(key), !computed.contains(key), startTime));
+        }
+        return responses;
+    }
+
+    // A copy of the page, since the cached one is shared with other callers, plus facets when asked for.
+    // Facets are cached apart from the page: one entry serves every page and sort order of a drill-down.
+    private JobSearchResponse respond(JobSearchRequest normalized, JobSearchResponse page, boolean fromCache, long startTime) {
+        return copyOf(page, fromCache, startTime, normalized.getFacets() ? facetsFor(normalized) : null);
+    }
+
+    static JobSearchResponse copyOf(JobSearchResponse page, boolean fromCache, long startTime,
+                                    Map<String, List<FacetBucket>> facets) {
+        return new JobSearchResponse(
+                page.getResults(),
+                page.getTotalResults(),
+                page.getCurrentPage(),
+                page.getTotalPages(),
+                page.getPageSize(),
+                System.currentTimeMillis() - startTime,
+                fromCache,
+                null,
+                facets
+        );
+    }
+
+    private boolean needsFacets(JobSearchRequest normalized) {
+        return Boolean.TRUE.equals(normalized.getFacets())
+                && facetCache().get(searchRequestNormalizer.facetKey(normalized), SearchFacets.class) == null;
+    }
+
+    /**
+     * Facet counts for a search without its result page. Drill-down navigation asks for these
+     * after every click, so they come from their own cache whenever possible.
+     */
+    public Map<String, List<FacetBucket>> getFacets(JobSearchRequest request) {
+        return facetsFor(searchRequestNormalizer.normalize(request));
+    }
+
+    private Map<String, List<FacetBucket>> facetsFor(JobSearchRequest normalized) {
+        String key = searchRequestNormalizer.facetKey(normalized);
+        SearchFacets cached = facetCache().get(key, SearchFacets.class);
+        if (cached != null) {
+            return cached.getFacets();
+        }
+
+        Map<String, List<FacetBucket>> facets = readFacets(
+                elasticsearchOperations.search(facetQuery(normalized), JobDocument.class).getAggregations());
+        facetCache().put(key, new SearchFacets(facets));
+        return facets;
+    }
+
+    // No hits needed, only the aggregations
+    BaseQuery facetQuery(JobSearchRequest normalized) {
+        NativeQueryBuilder builder = queryBuilder(normalized).withMaxResults(0);
+        addFacetAggregations(builder);
+        return builder.build();
+    }
+
+    /**
+     * Runs the search for {@code key} unless the same search is already running, in which case the
+     * caller waits for that one instead. Either way Elasticsearch sees one query per key at a time.
+     */
+    private JobSearchResponse searchOnce(String key, JobSearchRequest normalized) {
+        CompletableFuture<JobSearchResponse> mine = new CompletableFuture<>();
+        CompletableFuture<JobSearchResponse> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            log.debug("Joining in-flight search for {}", key);
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            long startTime = System.currentTimeMillis();
+            JobSearchResponse response = executeSearch(normalized, startTime);
+            searchCache().put(key, new CachedSearchResult(response, startTime, response.getSearchTimeMs()));
+            mine.complete(response);
+            return response;
+        } catch (Throwable e) {
+            // Errors too: callers joined on this future would otherwise wait forever
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private boolean shouldRefreshEarly(CachedSearchResult cached) {
+        return shouldRefreshEarly(cached, System.currentTimeMillis(), cacheTtlSeconds * 1000, earlyRefreshBeta,
+                ThreadLocalRandom.current().nextDouble());
+    }
+
+    // Probabilistic early expiration: the closer to expiry and the slower the query, the likelier a refresh.
+    // random is uniform in [0, 1); the smaller it is, the further ahead of expiry this caller refreshes.
+    static boolean shouldRefreshEarly(CachedSearchResult cached, long now, long ttlMs, double beta, double random) {
+        long expiresAt = cached.getComputedAt() + ttlMs;
+        double gap = -Math.max(1, cached.getComputeMs()) * beta * Math.log(random);
+        return now + gap >= expiresAt;
+    }
+
+    private void refreshInBackground(String key, JobSearchRequest normalized) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        try {
+            searchRefreshExecutor.execute(() -> {
+                try {
+                    searchOnce(key, normalized);
+                    log.debug("Refreshed {} ahead of expiry", key);
+                } catch (RuntimeException e) {
+                    log.warn("Early refresh of {} failed: {}", key, e.getMessage());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Refresh pool saturated; the entry still expires and is recomputed on demand
+        }
+    }
 
-        // Build query
-        Query query = buildQuery(request);
+    private JobSearchResponse executeSearch(JobSearchRequest request, long startTime) {
+        // Facets ride along in the same round trip, unless an earlier page of this search already cached them
+        boolean withFacets = needsFacets(request);
 
         // Execute search
         SearchHits<JobDocument> searchHits = elasticsearchOperations.search(
-                query,
+                pageQuery(request, withFacets),
                 JobDocument.class
         );
+        return toPage(request, searchHits, startTime, withFacets);
+    }
+
+    BaseQuery pageQuery(JobSearchRequest request, boolean withFacets) {
+        NativeQueryBuilder builder = queryBuilder(request);
+        if (withFacets) {
+            addFacetAggregations(builder);
+        }
+        BaseQuery query = builder.build();
+        applyListProjection(query, request);
+        return query;
+    }
 
+    private JobSearchResponse toPage(JobSearchRequest request, SearchHits<JobDocument> searchHits,
+                                     long startTime, boolean withFacets) {
+        if (withFacets) {
+            facetCache().put(searchRequestNormalizer.facetKey(request),
+                    new SearchFacets(readFacets(searchHits.getAggregations())));
+        }
+        return toPage(request, searchHits.getSearchHits(), searchHits.getTotalHits(), startTime);
+    }
+
+    JobSearchResponse toPage(JobSearchRequest request, List<SearchHit<JobDocument>> hits, long totalHits, long startTime) {
         // Extract results
-        List<JobDocument> results = searchHits.getSearchHits()
+        List<JobSummary> results = hits
                 .stream()
-                .map(SearchHit::getContent)
+                .map(this::toSummary)
                 .collect(Collectors.toList());
 
-        long totalHits = searchHits.getTotalHits();
         int totalPages = (int) Math.ceil((double) totalHits / request.getSize());
         long searchTime = System.currentTimeMillis() - startTime;
 
         log.info("Found {} results in {}ms", totalHits, searchTime);
 
+        // Cached without facets; they are attached per request from the facet cache
         return new JobSearchResponse(
                 results,
                 totalHits,
@@ -62,66 +377,239 @@ public class JobSearchService {
                 totalPages,
                 request.getSize(),
                 searchTime,
-                false
+                false,
+                null,
+                null
+        );
+    }
+
+    /**
+     * Returns one page of a cursor walk. Without a cursor a new walk starts: a point-in-time is
+     * opened on the index and the first page is returned. With one, the page after it is read from
+     * the same point-in-time via {@code search_after}, so page 5000 costs about what page 1 does
+     * and concurrent index updates do not shift results between pages.
+     *
+     * @throws IllegalArgumentException if the cursor is not one this service issued
+     */
+    public JobSearchResponse searchWithCursor(JobSearchRequest request, String cursor) {
+        long startTime = System.currentTimeMillis();
+
+        SearchCursor state = cursor == null || cursor.isBlank()
+                ? new SearchCursor(searchRequestNormalizer.normalize(request), null, null, 0)
+                : decodeCursor(cursor);
+        JobSearchRequest normalized = state.getRequest();
+        normalized.setPage(0);
+
+        String pitId = state.getPitId() != null
+                ? state.getPitId()
+                : elasticsearchOperations.openPointInTime(
+                        elasticsearchOperations.getIndexCoordinatesFor(JobDocument.class), cursorKeepAlive, false);
+
+        // A PIT search adds an implicit _shard_doc tiebreaker, so the sort values identify each hit
+        BaseQuery query = buildQuery(normalized);
+        applyListProjection(query, normalized);
+        query.setPointInTime(new Query.PointInTime(pitId, cursorKeepAlive));
+        query.setSearchAfter(state.getSearchAfter());
+
+        SearchHits<JobDocument> searchHits = elasticsearchOperations.search(query, JobDocument.class);
+        List<SearchHit<JobDocument>> hits = searchHits.getSearchHits();
+        String nextPitId = searchHits.getPointInTimeId() != null ? searchHits.getPointInTimeId() : pitId;
+
+        String nextCursor = null;
+        if (hits.size() < normalized.getSize()) {
+            elasticsearchOperations.closePointInTime(nextPitId);
+        } else {
+            nextCursor = searchCursorCodec.encode(new SearchCursor(normalized, nextPitId,
+                    hits.get(hits.size() - 1).getSortValues(), state.getPage() + 1));
+        }
+
+        long totalHits = searchHits.getTotalHits();
+        return new JobSearchResponse(
+                hits.stream().map(this::toSummary).collect(Collectors.toList()),
+                totalHits,
+                state.getPage(),
+                (int) Math.ceil((double) totalHits / normalized.getSize()),
+                normalized.getSize(),
+                System.currentTimeMillis() - startTime,
+                false,
+                nextCursor,
+                null
         );
     }
 
-    private Query buildQuery(JobSearchRequest request) {
-        Criteria criteria = new Criteria();
+    // Also used by JobExportService, so exports match exactly what a search would return
+    BaseQuery buildQuery(JobSearchRequest request) {
+        return queryBuilder(request).build();
+    }
 
-        // Keyword search (in title, company, description)
-        if (request.getKeyword() != null && !request.getKeyword().isEmpty()) {
-            Criteria keywordCriteria = new Criteria("title").contains(request.getKeyword())
-                    .or("company").contains(request.getKeyword())
-                    .or("description").contains(request.getKeyword());
-            criteria = criteria.and(keywordCriteria);
+    private NativeQueryBuilder queryBuilder(JobSearchRequest request) {
+        BoolQuery.Builder bool = new BoolQuery.Builder();
+
+        // Keyword search: the only scored clause
+        if (request.getKeyword() != null) {
+            bool.must(m -> m.multiMatch(mm -> mm
+                    .query(request.getKeyword())
+                    .fields(KEYWORD_FIELDS)));
         }
 
-        // Filter by skills
-        if (request.getSkills() != null && !request.getSkills().isEmpty()) {
-            criteria = criteria.and(new Criteria("skills").in(request.getSkills()));
+        // Everything else is a yes/no constraint: filter context skips scoring and is cached as bitsets
+        if (request.getSkills() != null) {
+            List<FieldValue> skills = request.getSkills().stream().map(FieldValue::of).toList();
+            bool.filter(f -> f.terms(t -> t.field("skills").terms(v -> v.value(skills))));
         }
 
-        // Filter by location
-        if (request.getLocation() != null && !request.getLocation().isEmpty()) {
-            criteria = criteria.and(new Criteria("location").is(request.getLocation()));
+        if (request.getLocation() != null) {
+            bool.filter(f -> f.term(t -> t.field("location").value(request.getLocation())));
         }
 
-        // Filter by salary range
         if (request.getMinSalary() != null) {
-            criteria = criteria.and(new Criteria("maxSalary").greaterThanEqual(request.getMinSalary()));
+            bool.filter(f -> f.range(r -> r.number(n -> n.field("maxSalary").gte(request.getMinSalary().doubleValue()))));
         }
 
         if (request.getMaxSalary() != null) {
-            criteria = criteria.and(new Criteria("minSalary").lessThanEqual(request.getMaxSalary()));
+            bool.filter(f -> f.range(r -> r.number(n -> n.field("minSalary").lte(request.getMaxSalary().doubleValue()))));
         }
 
-        // Filter by experience level
-        if (request.getExperienceLevel() != null && !request.getExperienceLevel().isEmpty()) {
-            criteria = criteria.and(new Criteria("experienceLevel").is(request.getExperienceLevel()));
+        if (request.getExperienceLevel() != null) {
+            bool.filter(f -> f.term(t -> t.field("experienceLevel").value(request.getExperienceLevel())));
         }
 
-        // Filter by active status
         if (request.getIsActive() != null) {
-            criteria = criteria.and(new Criteria("isActive").is(request.getIsActive()));
+            bool.filter(f -> f.term(t -> t.field("isActive").value(request.getIsActive())));
         }
 
-        // Build query with pagination and sorting
-        Sort.Direction direction = request.getSortOrder().equalsIgnoreCase("asc")
-                ? Sort.Direction.ASC
-                : Sort.Direction.DESC;
+        return NativeQuery.builder()
+                .withQuery(q -> q.bool(bool.build()))
+                .withSort(sortOptions(request))
+                .withPageable(PageRequest.of(request.getPage(), request.getSize()));
+    }
 
-        PageRequest pageRequest = PageRequest.of(
-                request.getPage(),
-                request.getSize(),
-                Sort.by(direction, request.getSortBy())
+    // Counted over everything the query matches, with all current filters applied
+    private void addFacetAggregations(NativeQueryBuilder builder) {
+        TERM_FACETS.forEach((field, size) ->
+                builder.withAggregation(field, Aggregation.of(a -> a.terms(t -> t.field(field).size(size)))));
+        builder.withAggregation(SALARY_FACET, Aggregation.of(a -> a.range(r -> r.field("minSalary").ranges(SALARY_BANDS))));
+    }
+
+    Map<String, List<FacetBucket>> readFacets(AggregationsContainer<?> container) {
+        Map<String, List<FacetBucket>> facets = new LinkedHashMap<>();
+        if (!(container instanceof ElasticsearchAggregations aggregations)) {
+            return facets;
+        }
+        for (ElasticsearchAggregation aggregation : aggregations.aggregations()) {
+            Aggregate aggregate = aggregation.aggregation().getAggregate();
+            List<FacetBucket> buckets = new ArrayList<>();
+            if (aggregate.isSterms()) {
+                aggregate.sterms().buckets().array()
+                        .forEach(b -> buckets.add(new FacetBucket(b.key().stringValue(), b.docCount())));
+            } else if (aggregate.isRange()) {
+                aggregate.range().buckets().array()
+                        .forEach(b -> buckets.add(new FacetBucket(b.key(), b.docCount())));
+            }
+            facets.put(aggregation.aggregation().getName(), buckets);
+        }
+        return facets;
+    }
+
+    // Result lists only load what the cards show; the description is replaced by an optional snippet
+    private void applyListProjection(BaseQuery query, JobSearchRequest request) {
+        query.addSourceFilter(new FetchSourceFilterBuilder().withIncludes(LIST_FIELDS).build());
+
+        if (Boolean.TRUE.equals(request.getHighlight())) {
+            HighlightParameters parameters = HighlightParameters.builder()
+                    .withFragmentSize(SNIPPET_LENGTH)
+                    .withNumberOfFragments(1)
+                    // Descriptions that did not match still get their opening as a snippet
+                    .withNoMatchSize(SNIPPET_LENGTH)
+                    // The page inserts snippets as HTML: escape the description text, keep only the <em> tags
+                    .withEncoder("html")
+                    .build();
+            query.setHighlightQuery(new HighlightQuery(
+                    new Highlight(parameters, List.of(new HighlightField("description"))), JobDocument.class));
+        }
+    }
+
+    private JobSummary toSummary(SearchHit<JobDocument> hit) {
+        JobDocument doc = hit.getContent();
+        List<String> snippet = hit.getHighlightField("description");
+        return new JobSummary(
+                doc.getId(),
+                doc.getTitle(),
+                doc.getCompany(),
+                doc.getLocation(),
+                doc.getMinSalary(),
+                doc.getMaxSalary(),
+                doc.getExperienceLevel(),
+                doc.getSkills(),
+                doc.getPostedDate(),
+                doc.getJobUrl(),
+                snippet.isEmpty() ? null : snippet.get(0)
         );
+    }
 
-        return new CriteriaQuery(criteria).setPageable(pageRequest);
+    // Full document for the details view
+    public JobDocument getJob(String id) {
+        return elasticsearchOperations.get(id, JobDocument.class);
+    }
+
+    // Cursors are unsigned, so the request inside one is only trusted if normalizing it changes nothing:
+    // an edited size could bypass MAX_SIZE, and an edited sort would not match the search_after values
+    private SearchCursor decodeCursor(String cursor) {
+        SearchCursor state = searchCursorCodec.decode(cursor);
+        if (state.getRequest() == null) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+        JobSearchRequest renormalized = searchRequestNormalizer.normalize(state.getRequest());
+        if (!searchRequestNormalizer.cacheKey(renormalized).equals(searchRequestNormalizer.cacheKey(state.getRequest()))) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+        state.setRequest(renormalized);
+        return state;
+    }
+
+    private List<SortOptions> sortOptions(JobSearchRequest request) {
+        SortOrder order = "asc".equals(request.getSortOrder()) ? SortOrder.Asc : SortOrder.Desc;
+
+        if (SearchRequestNormalizer.SORT_RELEVANCE.equals(request.getSortBy())) {
+            // Equal scores fall back to newest first
+            return List.of(
+                    SortOptions.of(s -> s.score(sc -> sc.order(order))),
+                    SortOptions.of(s -> s.field(f -> f.field("postedDate").order(SortOrder.Desc))));
+        }
+        String field = SearchRequestNormalizer.SORT_FIELDS.get(request.getSortBy());
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown sort field: " + request.getSortBy());
+        }
+        return List.of(SortOptions.of(s -> s.field(f -> f.field(field).order(order))));
+    }
+
+    // Any change to the index can change any result page, so the whole cache goes.
+    // A search already in flight may still store a page computed just before the change; the TTL bounds that.
+    @EventListener
+    public void onIndexChanged(JobIndexChangedEvent event) {
+        searchCache().clear();
+        facetCache().clear();
+        log.info("Search cache cleared ({})", event.reason());
+
+        // The default landing query is the bulk of traffic; have it ready before the next visitor
+        try {
+            searchJobs(new JobSearchRequest());
+        } catch (RuntimeException e) {
+            log.warn("Could not warm the search cache: {}", e.getMessage());
+        }
     }
 
-    @CacheEvict(value = "jobSearch", allEntries = true)
     public void clearCache() {
+        searchCache().clear();
+        facetCache().clear();
         log.info("All search cache cleared!");
     }
-}
\ No newline at end of file
+
+    private Cache searchCache() {
+        return cacheManager.getCache(CACHE_NAME);
+    }
+
+    private Cache facetCache() {
+        return cacheManager.getCache(FACET_CACHE_NAME);
+    }
+}
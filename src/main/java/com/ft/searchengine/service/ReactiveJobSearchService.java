@@ -0,0 +1,159 @@
+package com.ft.searchengine.service;
+
+import com.ft.searchengine.document.JobDocument;
+import com.ft.searchengine.dto.CachedSearchResult;
+import com.ft.searchengine.dto.FacetBucket;
+import com.ft.searchengine.dto.JobSearchRequest;
+import com.ft.searchengine.dto.JobSearchResponse;
+import com.ft.searchengine.dto.SearchFacets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.elasticsearch.core.ReactiveElasticsearchOperations;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Non-blocking counterpart of {@link JobSearchService#searchJobs}, with the same results, caches
+ * and cache keys.
+ * <p>
+ * Cache reads go through {@link Cache#retrieve}, which answers from the local tier or reads
+ * Redis asynchronously, and queries go through {@link ReactiveElasticsearchOperations}, so a
+ * search holds no thread while it waits. Cache writes are fire-and-forget on the bounded elastic
+ * scheduler, since the Redis cache only writes synchronously. Query building and result mapping
+ * are shared with {@link JobSearchService}.
+ */
+@Service
+@Slf4j
+public class ReactiveJobSearchService {
+
+    @Autowired
+    private ReactiveElasticsearchOperations reactiveElasticsearchOperations;
+
+    @Autowired
+    private JobSearchService jobSearchService;
+
+    @Autowired
+    private SearchRequestNormalizer searchRequestNormalizer;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Searches currently running against Elasticsearch, by cache key
+    private final ConcurrentHashMap<String, Mono<JobSearchResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private record Page(JobSearchResponse response, boolean fromCache) {
+    }
+
+    public Mono<JobSearchResponse> searchJobs(JobSearchRequest request) {
+        long startTime = System.currentTimeMillis();
+
+        JobSearchRequest normalized = searchRequestNormalizer.normalize(request);
+        String key = searchRequestNormalizer.cacheKey(normalized);
+
+        return retrieve(searchCache(), key, CachedSearchResult.class)
+                .map(cached -> new Page(cached.getResponse(), true))
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.info("Cache miss for {} - querying Elasticsearch", key);
+                    return searchOnce(key, normalized).map(response -> new Page(response, false));
+                }))
+                // Facets after the page: on a miss the page query has just cached them
+                .flatMap(page -> facetsFor(normalized)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .map(facets -> JobSearchService.copyOf(page.response(), page.fromCache(), startTime,
+                                facets.orElse(null))));
+    }
+
+    public Mono<Map<String, List<FacetBucket>>> getFacets(JobSearchRequest request) {
+        JobSearchRequest normalized = searchRequestNormalizer.normalize(request);
+        normalized.setFacets(true);
+        return facetsFor(normalized);
+    }
+
+    // Concurrent subscribers for the same key share one Elasticsearch query
+    private Mono<JobSearchResponse> searchOnce(String key, JobSearchRequest normalized) {
+        Mono<JobSearchResponse> search = execute(key, normalized).cache();
+        Mono<JobSearchResponse> running = inFlight.putIfAbsent(key, search);
+        if (running != null) {
+            log.debug("Joining in-flight search for {}", key);
+            return running;
+        }
+        return search.doFinally(signal -> inFlight.remove(key, search));
+    }
+
+    private Mono<JobSearchResponse> execute(String key, JobSearchRequest normalized) {
+        String facetKey = searchRequestNormalizer.facetKey(normalized);
+        Mono<Boolean> withFacets = normalized.getFacets()
+                ? retrieve(facetCache(), facetKey, SearchFacets.class).hasElement().map(cached -> !cached)
+                : Mono.just(false);
+
+        return withFacets.flatMap(facets -> {
+            long startTime = System.currentTimeMillis();
+            return reactiveElasticsearchOperations
+                    .searchForHits(jobSearchService.pageQuery(normalized, facets), JobDocument.class)
+                    .flatMap(hits -> hits.getSearchHits().collectList().map(list -> {
+                        JobSearchResponse page = jobSearchService.toPage(normalized, list, hits.getTotalHits(), startTime);
+                        if (facets) {
+                            putLater(facetCache(), facetKey, new SearchFacets(jobSearchService.readFacets(hits.getAggregations())));
+                        }
+                        putLater(searchCache(), key, new CachedSearchResult(page, startTime, page.getSearchTimeMs()));
+                        return page;
+                    }));
+        });
+    }
+
+    private Mono<Map<String, List<FacetBucket>>> facetsFor(JobSearchRequest normalized) {
+        if (!normalized.getFacets()) {
+            return Mono.empty();
+        }
+        String key = searchRequestNormalizer.facetKey(normalized);
+        return retrieve(facetCache(), key, SearchFacets.class)
+                .map(SearchFacets::getFacets)
+                .switchIfEmpty(Mono.defer(() -> reactiveElasticsearchOperations
+                        .searchForHits(jobSearchService.facetQuery(normalized), JobDocument.class)
+                        .map(hits -> {
+                            Map<String, List<FacetBucket>> facets = jobSearchService.readFacets(hits.getAggregations());
+                            putLater(facetCache(), key, new SearchFacets(facets));
+                            return facets;
+                        })));
+    }
+
+    // A cache that cannot be read is treated as a miss, so a Redis hiccup costs a query instead of the request
+    private <T> Mono<T> retrieve(Cache cache, String key, Class<T> type) {
+        return Mono.defer(() -> {
+                    CompletableFuture<?> future = cache.retrieve(key);
+                    return future == null ? Mono.<Object>empty() : Mono.fromFuture(future).cast(Object.class);
+                })
+                .flatMap(found -> {
+                    Object value = found instanceof Cache.ValueWrapper wrapper ? wrapper.get() : found;
+                    return type.isInstance(value) ? Mono.just(type.cast(value)) : Mono.<T>empty();
+                })
+                .onErrorResume(e -> {
+                    log.warn("Cache read of {} failed: {}", key, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void putLater(Cache cache, String key, Object value) {
+        Mono.fromRunnable(() -> cache.put(key, value))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(null, e -> log.warn("Could not cache {}: {}", key, e.getMessage()));
+    }
+
+    private Cache searchCache() {
+        return cacheManager.getCache(JobSearchService.CACHE_NAME);
+    }
+
+    private Cache facetCache() {
+        return cacheManager.getCache(JobSearchService.FACET_CACHE_NAME);
+    }
+}
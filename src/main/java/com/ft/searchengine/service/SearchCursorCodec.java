@@ -0,0 +1,35 @@
+package com.ft.searchengine.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ft.searchengine.dto.SearchCursor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Turns a {@link SearchCursor} into a URL-safe string and back. The string is opaque to clients,
+ * not secret: it only holds the search they already sent and Elasticsearch sort values.
+ */
+@Component
+public class SearchCursorCodec {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public String encode(SearchCursor cursor) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mapper.writeValueAsBytes(cursor));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode search cursor", e);
+        }
+    }
+
+    public SearchCursor decode(String cursor) {
+        try {
+            return mapper.readValue(Base64.getUrlDecoder().decode(cursor), SearchCursor.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid search cursor", e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ft.searchengine.service;
+
+import com.ft.searchengine.dto.JobSearchRequest;
+import com.ft.searchengine.skill.SkillDictionaryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Brings a {@link JobSearchRequest} into one canonical form, so requests that mean the same search
+ * are executed the same way and share a cache entry: keyword trimmed, lowercased and with single
+ * spaces, skills canonical and sorted, blanks dropped and paging/sorting defaults filled in. An
+ * unknown sort field falls back to the default: relevance with a keyword, newest first without.
+ */
+@Component
+public class SearchRequestNormalizer {
+
+    static final int DEFAULT_SIZE = 20;
+    static final int MAX_SIZE = 100;
+    static final String DEFAULT_SORT_BY = "postedDate";
+    static final String SORT_RELEVANCE = "relevance";
+
+    // Sortable request values and the index field each one sorts on; text fields sort on their keyword subfield
+    static final Map<String, String> SORT_FIELDS = Map.of(
+            "postedDate", "postedDate",
+            "minSalary", "minSalary",
+            "maxSalary", "maxSalary",
+            "title", "title.keyword",
+            "company", "company.keyword",
+            "location", "location",
+            "experienceLevel", "experienceLevel");
+
+    @Autowired
+    private SkillDictionaryService skillDictionaryService;
+
+    public JobSearchRequest normalize(JobSearchRequest request) {
+        JobSearchRequest normalized = new JobSearchRequest();
+
+        normalized.setKeyword(blankToNull(request.getKeyword() == null ? null
+                : request.getKeyword().trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT)));
+
+        if (request.getSkills() != null) {
+            List<String> skills = skillDictionaryService.current().normalize(request.getSkills()).stream()
+                    .sorted()
+                    .toList();
+            normalized.setSkills(skills.isEmpty() ? null : skills);
+        }
+
+        // Keyword fields match exactly, so only surrounding whitespace is safe to drop
+        normalized.setLocation(blankToNull(request.getLocation() == null ? null : request.getLocation().trim()));
+        normalized.setExperienceLevel(blankToNull(request.getExperienceLevel() == null ? null
+                : request.getExperienceLevel().trim()));
+        normalized.setMinSalary(request.getMinSalary());
+        normalized.setMaxSalary(request.getMaxSalary());
+        normalized.setIsActive(request.getIsActive());
+        normalized.setHighlight(normalized.getKeyword() != null && Boolean.TRUE.equals(request.getHighlight()));
+        normalized.setFacets(Boolean.TRUE.equals(request.getFacets()));
+
+        normalized.setPage(request.getPage() == null || request.getPage() < 0 ? 0 : request.getPage());
+        normalized.setSize(request.getSize() == null || request.getSize() < 1 ? DEFAULT_SIZE
+                : Math.min(request.getSize(), MAX_SIZE));
+        normalized.setSortBy(sortBy(request.getSortBy(), normalized.getKeyword() != null));
+        normalized.setSortOrder("asc".equalsIgnoreCase(request.getSortOrder()) ? "asc" : "desc");
+        return normalized;
+    }
+
+    // Every field in a fixed order, so equal requests always give the same key.
+    // Facets are cached separately, so asking for them does not change the page's key.
+    public String cacheKey(JobSearchRequest normalized) {
+        return facetKey(normalized)
+                + "|hl=" + normalized.getHighlight()
+                + "|page=" + normalized.getPage()
+                + "|size=" + normalized.getSize()
+                + "|sort=" + normalized.getSortBy() + ":" + normalized.getSortOrder();
+    }
+
+    // Only what narrows the result set: every page and sort order of a search shares its facets
+    public String facetKey(JobSearchRequest normalized) {
+        return "kw=" + nullToEmpty(normalized.getKeyword())
+                + "|skills=" + (normalized.getSkills() == null ? "" : String.join(",", normalized.getSkills()))
+                + "|loc=" + nullToEmpty(normalized.getLocation())
+                + "|min=" + nullToEmpty(normalized.getMinSalary())
+                + "|max=" + nullToEmpty(normalized.getMaxSalary())
+                + "|exp=" + nullToEmpty(normalized.getExperienceLevel())
+                + "|active=" + nullToEmpty(normalized.getIsActive());
+    }
+
+    // Keyword searches rank by relevance unless told otherwise; without a keyword there is no score to sort on
+    private static String sortBy(String requested, boolean hasKeyword) {
+        String sortBy = requested == null ? "" : requested.trim();
+        if (SORT_FIELDS.containsKey(sortBy) || (hasKeyword && SORT_RELEVANCE.equals(sortBy))) {
+            return sortBy;
+        }
+        return hasKeyword ? SORT_RELEVANCE : DEFAULT_SORT_BY;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static String nullToEmpty(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
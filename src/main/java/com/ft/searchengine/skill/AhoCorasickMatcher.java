@@ -0,0 +1,201 @@
+package com.ft.searchengine.skill;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.TreeSet;
+
+/**
+ * Immutable, case-insensitive Aho-Corasick automaton.
+ * <p>
+ * Built once from a list of patterns and then shared freely between threads. The goto/failure
+ * function is flattened into a dense DFA table over the characters that occur in the patterns,
+ * so scanning costs one table lookup per input character and allocates nothing; characters
+ * outside that alphabet send the automaton back to the root.
+ */
+public final class AhoCorasickMatcher {
+
+    @FunctionalInterface
+    public interface MatchListener {
+        /**
+         * @param patternId index of the pattern in the list given to {@link #build}
+         * @param end       exclusive end offset of the match in the scanned text
+         * @return {@code false} to stop scanning
+         */
+        boolean onMatch(int patternId, int end);
+    }
+
+    private static final int[] NO_OUTPUT = new int[0];
+
+    private final int patternCount;
+    private final int[] patternLengths;
+    private final int[] asciiClasses;         // char class for chars < 128, 0 = not in alphabet
+    private final char[] otherChars;          // sorted non-ASCII alphabet, classes follow the ASCII ones
+    private final int alphabetSize;
+    private final int[] transitions;          // state * alphabetSize + class -> next state
+    private final int[][] outputs;            // state -> pattern ids ending here (incl. via suffix links)
+
+    private AhoCorasickMatcher(int patternCount, int[] patternLengths, int[] asciiClasses,
+                               char[] otherChars, int alphabetSize, int[] transitions, int[][] outputs) {
+        this.patternCount = patternCount;
+        this.patternLengths = patternLengths;
+        this.asciiClasses = asciiClasses;
+        this.otherChars = otherChars;
+        this.alphabetSize = alphabetSize;
+        this.transitions = transitions;
+        this.outputs = outputs;
+    }
+
+    public static AhoCorasickMatcher build(List<String> patterns) {
+        int[] patternLengths = new int[patterns.size()];
+        List<String> lowered = new ArrayList<>(patterns.size());
+        TreeSet<Character> alphabet = new TreeSet<>();
+        for (int i = 0; i < patterns.size(); i++) {
+            String pattern = patterns.get(i);
+            if (pattern == null || pattern.isEmpty()) {
+                throw new IllegalArgumentException("Empty pattern at index " + i);
+            }
+            StringBuilder sb = new StringBuilder(pattern.length());
+            for (int j = 0; j < pattern.length(); j++) {
+                char c = Character.toLowerCase(pattern.charAt(j));
+                sb.append(c);
+                alphabet.add(c);
+            }
+            lowered.add(sb.toString());
+            patternLengths[i] = pattern.length();
+        }
+
+        // Class 0 is reserved for "not in any pattern"
+        int[] asciiClasses = new int[128];
+        List<Character> nonAscii = new ArrayList<>();
+        int nextClass = 1;
+        for (char c : alphabet) {
+            if (c < 128) {
+                asciiClasses[c] = nextClass++;
+            } else {
+                nonAscii.add(c);
+            }
+        }
+        int asciiClassCount = nextClass;
+        char[] otherChars = new char[nonAscii.size()];
+        for (int i = 0; i < otherChars.length; i++) {
+            otherChars[i] = nonAscii.get(i);
+        }
+        int alphabetSize = asciiClassCount + otherChars.length;
+
+        // 1. Trie
+        List<int[]> gotoTable = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        gotoTable.add(newRow(alphabetSize));
+        out.add(new ArrayList<>());
+        for (int p = 0; p < lowered.size(); p++) {
+            String pattern = lowered.get(p);
+            int state = 0;
+            for (int j = 0; j < pattern.length(); j++) {
+                int cls = classOf(pattern.charAt(j), asciiClasses, otherChars, asciiClassCount);
+                int next = gotoTable.get(state)[cls];
+                if (next < 0) {
+                    next = gotoTable.size();
+                    gotoTable.add(newRow(alphabetSize));
+                    out.add(new ArrayList<>());
+                    gotoTable.get(state)[cls] = next;
+                }
+                state = next;
+            }
+            out.get(state).add(p);
+        }
+
+        // 2. Failure links, folded into a complete DFA in BFS order
+        int stateCount = gotoTable.size();
+        int[] fail = new int[stateCount];
+        int[] transitions = new int[stateCount * alphabetSize];
+        Queue<Integer> queue = new ArrayDeque<>();
+        int[] root = gotoTable.get(0);
+        for (int cls = 0; cls < alphabetSize; cls++) {
+            int next = root[cls];
+            if (next < 0) {
+                transitions[cls] = 0;
+            } else {
+                transitions[cls] = next;
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            out.get(state).addAll(out.get(fail[state]));
+            int[] row = gotoTable.get(state);
+            for (int cls = 0; cls < alphabetSize; cls++) {
+                int next = row[cls];
+                if (next < 0) {
+                    transitions[state * alphabetSize + cls] = transitions[fail[state] * alphabetSize + cls];
+                } else {
+                    transitions[state * alphabetSize + cls] = next;
+                    fail[next] = transitions[fail[state] * alphabetSize + cls];
+                    queue.add(next);
+                }
+            }
+        }
+        // Class 0 (foreign character) always resets to the root
+        for (int state = 0; state < stateCount; state++) {
+            transitions[state * alphabetSize] = 0;
+        }
+
+        int[][] outputs = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            List<Integer> ids = out.get(state);
+            if (ids.isEmpty()) {
+                outputs[state] = NO_OUTPUT;
+            } else {
+                int[] sorted = ids.stream().mapToInt(Integer::intValue).distinct().toArray();
+                Arrays.sort(sorted);
+                outputs[state] = sorted;
+            }
+        }
+
+        return new AhoCorasickMatcher(patterns.size(), patternLengths, asciiClasses, otherChars,
+                alphabetSize, transitions, outputs);
+    }
+
+    public int patternCount() {
+        return patternCount;
+    }
+
+    public int patternLength(int patternId) {
+        return patternLengths[patternId];
+    }
+
+    /**
+     * Reports every occurrence of every pattern, in order of their end offset.
+     */
+    public void scan(CharSequence text, MatchListener listener) {
+        int state = 0;
+        int asciiClassCount = alphabetSize - otherChars.length;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            int cls = classOf(Character.toLowerCase(text.charAt(i)), asciiClasses, otherChars, asciiClassCount);
+            state = transitions[state * alphabetSize + cls];
+            int[] ids = outputs[state];
+            for (int id : ids) {
+                if (!listener.onMatch(id, i + 1)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static int classOf(char c, int[] asciiClasses, char[] otherChars, int asciiClassCount) {
+        if (c < 128) {
+            return asciiClasses[c];
+        }
+        int idx = Arrays.binarySearch(otherChars, c);
+        return idx < 0 ? 0 : asciiClassCount + idx;
+    }
+
+    private static int[] newRow(int size) {
+        int[] row = new int[size];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
@@ -0,0 +1,159 @@
+package com.ft.searchengine.skill;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the skill taxonomy: canonical names in file order plus their synonyms.
+ * <p>
+ * Exact lookups ("k8s", " KUBERNETES ") go through a {@link SkillTrie}; free-text scans for
+ * dictionary terms go through an {@link AhoCorasickMatcher} over every surface form.
+ * A new instance is built on every reload and swapped in whole by {@link SkillDictionaryService}.
+ * <p>
+ * File format, one skill per line:
+ * <pre>
+ * # comment
+ * Kubernetes = k8s, kube
+ * Excel
+ * </pre>
+ */
+public final class SkillDictionary {
+
+    private final List<String> canonicalNames;
+    private final SkillTrie trie;                  // surface form -> canonical index
+    private final AhoCorasickMatcher termMatcher;  // pattern id -> canonical index via patternCanonical
+    private final int[] patternCanonical;
+
+    private SkillDictionary(List<String> canonicalNames, SkillTrie trie,
+                            AhoCorasickMatcher termMatcher, int[] patternCanonical) {
+        this.canonicalNames = canonicalNames;
+        this.trie = trie;
+        this.termMatcher = termMatcher;
+        this.patternCanonical = patternCanonical;
+    }
+
+    /**
+     * @param synonymsByCanonical canonical name to its synonyms, in dictionary order
+     */
+    public static SkillDictionary of(Map<String, List<String>> synonymsByCanonical) {
+        List<String> canonicalNames = new ArrayList<>(synonymsByCanonical.keySet());
+        Map<String, Integer> surfaceForms = new LinkedHashMap<>();
+        List<String> patterns = new ArrayList<>();
+        List<Integer> patternCanonical = new ArrayList<>();
+
+        for (int i = 0; i < canonicalNames.size(); i++) {
+            String canonical = canonicalNames.get(i);
+            Set<String> forms = new LinkedHashSet<>();
+            forms.add(canonical);
+            forms.addAll(synonymsByCanonical.get(canonical));
+            for (String form : forms) {
+                String key = SkillTrie.normalize(form);
+                if (key.isEmpty()) continue;
+                // First definition wins if two skills claim the same synonym
+                if (surfaceForms.putIfAbsent(key, i) == null) {
+                    patterns.add(form.trim());
+                    patternCanonical.add(i);
+                }
+            }
+        }
+
+        return new SkillDictionary(
+                Collections.unmodifiableList(canonicalNames),
+                SkillTrie.build(surfaceForms),
+                AhoCorasickMatcher.build(patterns),
+                patternCanonical.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public static SkillDictionary of(List<String> canonicalNames) {
+        Map<String, List<String>> entries = new LinkedHashMap<>();
+        for (String name : canonicalNames) {
+            entries.putIfAbsent(name, List.of());
+        }
+        return of(entries);
+    }
+
+    public static SkillDictionary parse(BufferedReader reader) throws IOException {
+        Map<String, List<String>> entries = new LinkedHashMap<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            int eq = line.indexOf('=');
+            String canonical = (eq < 0 ? line : line.substring(0, eq)).trim();
+            if (canonical.isEmpty()) {
+                throw new IOException("Line " + lineNumber + ": missing skill name");
+            }
+
+            List<String> synonyms = entries.computeIfAbsent(canonical, k -> new ArrayList<>());
+            if (eq >= 0) {
+                for (String synonym : line.substring(eq + 1).split(",")) {
+                    if (!synonym.isBlank()) synonyms.add(synonym.trim());
+                }
+            }
+        }
+        return of(entries);
+    }
+
+    public int size() {
+        return canonicalNames.size();
+    }
+
+    public List<String> getCanonicalNames() {
+        return canonicalNames;
+    }
+
+    /**
+     * @return the canonical name for a skill or synonym, or {@code null} if it is not in the dictionary
+     */
+    public String canonicalize(String skill) {
+        if (skill == null) return null;
+        int index = trie.get(skill);
+        return index < 0 ? null : canonicalNames.get(index);
+    }
+
+    /**
+     * Maps known skills and synonyms to their canonical names, keeps unknown skills as they are,
+     * and drops duplicates that collapse onto the same name.
+     */
+    public List<String> normalize(List<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return skills;
+        }
+        Set<String> normalized = new LinkedHashSet<>(skills.size());
+        for (String skill : skills) {
+            String canonical = canonicalize(skill);
+            normalized.add(canonical != null ? canonical : skill);
+        }
+        return new ArrayList<>(normalized);
+    }
+
+    /**
+     * Finds dictionary terms occurring anywhere in the text (substring match, case-insensitive)
+     * and returns their canonical names in dictionary order.
+     */
+    public List<String> findTerms(String text, int limit) {
+        boolean[] found = new boolean[canonicalNames.size()];
+        termMatcher.scan(text, (id, end) -> {
+            found[patternCanonical[id]] = true;
+            return true;
+        });
+
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < found.length && terms.size() < limit; i++) {
+            if (found[i]) {
+                terms.add(canonicalNames.get(i));
+            }
+        }
+        return terms;
+    }
+}
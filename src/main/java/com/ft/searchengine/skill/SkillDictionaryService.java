@@ -0,0 +1,76 @@
+package com.ft.searchengine.skill;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Owns the current {@link SkillDictionary}.
+ * <p>
+ * The dictionary is loaded at startup and, when it lives on the file system, re-read whenever the
+ * file's modification time changes. A reload builds a complete new snapshot and publishes it with a
+ * single volatile write, so import and search threads never block and never see a half-built index.
+ * A file that fails to parse is logged and the previous snapshot stays in place.
+ */
+@Component
+@Slf4j
+public class SkillDictionaryService {
+
+    @Value("${jobseek.skills.dictionary:classpath:skills.txt}")
+    private Resource dictionaryResource;
+
+    private volatile SkillDictionary dictionary;
+    private volatile long lastModified;
+
+    @PostConstruct
+    public void load() throws IOException {
+        dictionary = read();
+        lastModified = lastModified();
+        log.info("Loaded {} skills from {}", dictionary.size(), dictionaryResource);
+    }
+
+    public SkillDictionary current() {
+        return dictionary;
+    }
+
+    @Scheduled(fixedDelayString = "${jobseek.skills.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        long modified = lastModified();
+        if (modified <= 0 || modified == lastModified) {
+            return;
+        }
+
+        lastModified = modified;
+        try {
+            SkillDictionary reloaded = read();
+            dictionary = reloaded;
+            log.info("Reloaded {} skills from {}", reloaded.size(), dictionaryResource);
+        } catch (Exception e) {
+            log.error("Skill dictionary reload failed, keeping previous version: {}", e.getMessage());
+        }
+    }
+
+    private SkillDictionary read() throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(dictionaryResource.getInputStream(), StandardCharsets.UTF_8))) {
+            return SkillDictionary.parse(reader);
+        }
+    }
+
+    // Only file-backed resources can change at runtime; classpath entries inside a jar report 0
+    private long lastModified() {
+        try {
+            return dictionaryResource.isFile() ? dictionaryResource.lastModified() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
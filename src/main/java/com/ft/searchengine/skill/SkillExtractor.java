@@ -0,0 +1,133 @@
+package com.ft.searchengine.skill;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts skills from CSV fields during import.
+ * <p>
+ * Indicator phrases are compiled once into an {@link AhoCorasickMatcher}, and the dictionary
+ * fallback uses the automaton of the current {@link SkillDictionary}, so a description is scanned
+ * case-insensitively in one pass per automaton instead of one {@code indexOf}/{@code contains} per
+ * phrase over a lowercased copy. The rules and ordering are the ones the importer has always used.
+ */
+@Component
+public class SkillExtractor {
+
+    private static final Pattern SKILLS_DESC_SEPARATORS = Pattern.compile("[,;|\\n\\r]+");
+    private static final Pattern SECTION_SEPARATORS = Pattern.compile("[,;.\\n\\r]+");
+    private static final Pattern LEADING_FILLER = Pattern.compile("^(and|or|the|a|an|in|with|using)\\s+");
+
+    private static final int SECTION_LENGTH = 200;
+    private static final int MAX_SKILLS_DESC_SKILLS = 15;
+    private static final int MAX_DESCRIPTION_SKILLS = 10;
+
+    static final String[] SKILL_INDICATORS = {
+            "experience with", "proficient in", "knowledge of", "skilled in",
+            "expertise in", "familiar with", "competent in", "strong in",
+            "ability to", "experience in", "background in", "understanding of",
+            "must know", "required:", "requirements:", "qualifications:",
+            "skills:", "abilities:", "competencies:"
+    };
+
+    private static final AhoCorasickMatcher INDICATOR_MATCHER =
+            AhoCorasickMatcher.build(Arrays.asList(SKILL_INDICATORS));
+
+    private final Supplier<SkillDictionary> dictionary;
+
+    @Autowired
+    public SkillExtractor(SkillDictionaryService dictionaryService) {
+        this(dictionaryService::current);
+    }
+
+    SkillExtractor(Supplier<SkillDictionary> dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Splits an explicit {@code skills_desc} column into at most 15 skills.
+     */
+    public List<String> extractSkills(String skillsDesc) {
+        List<String> skills = new ArrayList<>();
+
+        if (skillsDesc == null || skillsDesc.isEmpty()) {
+            return skills;
+        }
+
+        for (String part : SKILLS_DESC_SEPARATORS.split(skillsDesc)) {
+            String cleaned = part.trim();
+
+            if (cleaned.length() >= 2 && cleaned.length() <= 50) {
+                skills.add(capitalizeFirstLetter(cleaned));
+
+                if (skills.size() >= MAX_SKILLS_DESC_SKILLS) break;
+            }
+        }
+
+        return skills;
+    }
+
+    /**
+     * Looks for the text following phrases such as "experience with" and falls back to dictionary
+     * terms found anywhere in the description. Returns at most 10 skills.
+     */
+    public List<String> extractSkillsFromDescription(String description) {
+        List<String> skills = new ArrayList<>();
+
+        if (description == null || description.isEmpty()) {
+            return skills;
+        }
+
+        int indicatorCount = SKILL_INDICATORS.length;
+        int[] indicatorEnds = new int[indicatorCount];
+        Arrays.fill(indicatorEnds, -1);
+
+        INDICATOR_MATCHER.scan(description, (id, end) -> {
+            // first occurrence only, like indexOf
+            if (indicatorEnds[id] < 0) indicatorEnds[id] = end;
+            return true;
+        });
+
+        for (int i = 0; i < indicatorCount; i++) {
+            int start = indicatorEnds[i];
+            if (start < 0) continue;
+
+            int endIndex = Math.min(start + SECTION_LENGTH, description.length());
+            String skillSection = description.substring(start, endIndex);
+
+            for (String part : SECTION_SEPARATORS.split(skillSection)) {
+                String cleaned = part.trim();
+
+                if (cleaned.length() >= 3 && cleaned.length() <= 50) {
+                    // Remove common filler words from the start
+                    cleaned = LEADING_FILLER.matcher(cleaned).replaceFirst("");
+                    cleaned = capitalizeFirstLetter(cleaned.trim());
+
+                    if (cleaned.length() >= 3 && !skills.contains(cleaned)) {
+                        skills.add(cleaned);
+                        if (skills.size() >= MAX_DESCRIPTION_SKILLS) return skills;
+                    }
+                }
+            }
+        }
+
+        if (skills.isEmpty()) {
+            skills = dictionary.get().findTerms(description, MAX_DESCRIPTION_SKILLS);
+        }
+
+        return skills;
+    }
+
+    private static String capitalizeFirstLetter(String str) {
+        if (str == null || str.isEmpty()) {
+            return str;
+        }
+        return str.substring(0, 1).toUpperCase() + str.substring(1);
+    }
+}
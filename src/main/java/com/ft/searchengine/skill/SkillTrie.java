@@ -0,0 +1,144 @@
+package com.ft.searchengine.skill;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Immutable trie from skill terms to an int value, stored as flat arrays.
+ * <p>
+ * Children of a node are laid out contiguously and sorted by label, so a lookup is one binary
+ * search per character and the whole structure is a handful of primitive arrays. Keys are matched
+ * case-insensitively with surrounding whitespace ignored and inner whitespace runs collapsed to a
+ * single space, without building a normalized copy of the input.
+ */
+public final class SkillTrie {
+
+    private final char[] labels;       // label of the edge leading into each node
+    private final int[] childStart;    // children of node n are [childStart[n], childEnd[n])
+    private final int[] childEnd;
+    private final int[] values;        // -1 when no key ends at the node
+
+    private SkillTrie(char[] labels, int[] childStart, int[] childEnd, int[] values) {
+        this.labels = labels;
+        this.childStart = childStart;
+        this.childEnd = childEnd;
+        this.values = values;
+    }
+
+    /**
+     * @param entries keys and their values; keys are normalized the same way lookups are
+     */
+    public static SkillTrie build(Map<String, Integer> entries) {
+        Node root = new Node();
+        int nodeCount = 1;
+        for (Map.Entry<String, Integer> entry : entries.entrySet()) {
+            String key = normalize(entry.getKey());
+            if (key.isEmpty()) continue;
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                Node child = node.children.get(key.charAt(i));
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(key.charAt(i), child);
+                    nodeCount++;
+                }
+                node = child;
+            }
+            node.value = entry.getValue();
+        }
+
+        // Breadth-first numbering keeps every node's children contiguous
+        char[] labels = new char[nodeCount];
+        int[] childStart = new int[nodeCount];
+        int[] childEnd = new int[nodeCount];
+        int[] values = new int[nodeCount];
+        Queue<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        int index = 0;
+        int nextFree = 1;
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            values[index] = node.value;
+            childStart[index] = nextFree;
+            for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                labels[nextFree++] = child.getKey();
+                queue.add(child.getValue());
+            }
+            childEnd[index] = nextFree;
+            index++;
+        }
+
+        return new SkillTrie(labels, childStart, childEnd, values);
+    }
+
+    /**
+     * @return the value stored for the term, or -1 if it is not a key
+     */
+    public int get(CharSequence term) {
+        int node = 0;
+        boolean pendingSpace = false;
+        boolean started = false;
+        for (int i = 0, n = term.length(); i < n; i++) {
+            char c = term.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = started;
+                continue;
+            }
+            if (pendingSpace) {
+                node = child(node, ' ');
+                if (node < 0) return -1;
+                pendingSpace = false;
+            }
+            node = child(node, Character.toLowerCase(c));
+            if (node < 0) return -1;
+            started = true;
+        }
+        return started ? values[node] : -1;
+    }
+
+    public int nodeCount() {
+        return values.length;
+    }
+
+    private int child(int node, char c) {
+        int lo = childStart[node];
+        int hi = childEnd[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char label = labels[mid];
+            if (label < c) {
+                lo = mid + 1;
+            } else if (label > c) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    static String normalize(String term) {
+        StringBuilder sb = new StringBuilder(term.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+
+    private static final class Node {
+        final TreeMap<Character, Node> children = new TreeMap<>();
+        int value = -1;
+    }
+}
@@ -0,0 +1,167 @@
+package com.ft.searchengine.suggest;
+
+import com.ft.searchengine.dto.Suggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable prefix index over suggestions, ranked by posting count.
+ * <p>
+ * Every suggestion is indexed under each of its word starts, so "eng" finds "Senior Software
+ * Engineer". Keys live in one sorted array: a lookup is a binary search to the first key with the
+ * prefix, then a scan of the keys that share it. Entries are numbered by descending count, so the
+ * best matches are simply the smallest entry numbers seen. One- and two-character prefixes match
+ * too many keys to scan per keystroke; their answers are computed when the index is built.
+ */
+public final class SuggestionIndex {
+
+    public static final int MAX_LIMIT = 20;
+
+    private static final int PRECOMPUTED_PREFIX_LENGTH = 2;
+
+    private final Suggestion[] entries;          // by descending count
+    private final String[] keys;                 // sorted, normalized word-start suffixes
+    private final int[] entryOf;                 // entry each key belongs to
+    private final Map<String, int[]> shortPrefixes;
+
+    private SuggestionIndex(Suggestion[] entries, String[] keys, int[] entryOf, Map<String, int[]> shortPrefixes) {
+        this.entries = entries;
+        this.keys = keys;
+        this.entryOf = entryOf;
+        this.shortPrefixes = shortPrefixes;
+    }
+
+    public static SuggestionIndex build(List<Suggestion> suggestions) {
+        Suggestion[] entries = suggestions.stream()
+                .filter(s -> !normalize(s.getText()).isEmpty())
+                .sorted(Comparator.comparingLong(Suggestion::getCount).reversed()
+                        .thenComparing(Suggestion::getText))
+                .toArray(Suggestion[]::new);
+
+        List<String> keyList = new ArrayList<>();
+        List<Integer> entryList = new ArrayList<>();
+        for (int e = 0; e < entries.length; e++) {
+            String text = normalize(entries[e].getText());
+            for (int i = 0; i < text.length(); i++) {
+                if (i == 0 || text.charAt(i - 1) == ' ') {
+                    keyList.add(text.substring(i));
+                    entryList.add(e);
+                }
+            }
+        }
+
+        Integer[] order = new Integer[keyList.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(keyList::get));
+
+        String[] keys = new String[order.length];
+        int[] entryOf = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            keys[i] = keyList.get(order[i]);
+            entryOf[i] = entryList.get(order[i]);
+        }
+
+        Map<String, TopEntries> tops = new HashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            for (int length = 1; length <= Math.min(PRECOMPUTED_PREFIX_LENGTH, keys[i].length()); length++) {
+                tops.computeIfAbsent(keys[i].substring(0, length), p -> new TopEntries(MAX_LIMIT)).offer(entryOf[i]);
+            }
+        }
+        Map<String, int[]> shortPrefixes = new HashMap<>();
+        tops.forEach((prefix, top) -> shortPrefixes.put(prefix, top.toArray()));
+
+        return new SuggestionIndex(entries, keys, entryOf, shortPrefixes);
+    }
+
+    public static SuggestionIndex empty() {
+        return build(List.of());
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * @return up to {@code limit} suggestions with a word starting with {@code prefix}, highest count first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        int max = Math.min(limit, MAX_LIMIT);
+        if (normalized.isEmpty() || max <= 0) {
+            return List.of();
+        }
+
+        int[] matches;
+        if (normalized.length() <= PRECOMPUTED_PREFIX_LENGTH) {
+            matches = shortPrefixes.getOrDefault(normalized, new int[0]);
+        } else {
+            TopEntries top = new TopEntries(max);
+            for (int i = lowerBound(normalized); i < keys.length && keys[i].startsWith(normalized); i++) {
+                top.offer(entryOf[i]);
+            }
+            matches = top.toArray();
+        }
+
+        List<Suggestion> result = new ArrayList<>(Math.min(max, matches.length));
+        for (int i = 0; i < matches.length && i < max; i++) {
+            result.add(entries[matches[i]]);
+        }
+        return result;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Lowercase with single spaces, the same for indexed text and typed prefixes
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // The smallest distinct entry numbers offered, i.e. the highest counts, kept sorted
+    private static final class TopEntries {
+        private final int[] values;
+        private int size;
+
+        TopEntries(int capacity) {
+            values = new int[capacity];
+        }
+
+        void offer(int entry) {
+            if (size == values.length && entry >= values[size - 1]) {
+                return;
+            }
+            int at = Arrays.binarySearch(values, 0, size, entry);
+            if (at >= 0) {
+                return;
+            }
+            int insert = -at - 1;
+            int moved = Math.min(size, values.length - 1) - insert;
+            System.arraycopy(values, insert, values, insert + 1, moved);
+            values[insert] = entry;
+            size = Math.min(size + 1, values.length);
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.ft.searchengine.suggest;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregationSource;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeBucket;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import com.ft.searchengine.dto.Suggestion;
+import com.ft.searchengine.service.JobIndexChangedEvent;
+import com.ft.searchengine.service.JobIndexManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typeahead over the titles, companies and skills in the jobs index.
+ * <p>
+ * Every distinct value and its posting count is read from the index with composite aggregations
+ * and loaded into {@link SuggestionIndex} snapshots, one across all types and one per type.
+ * Lookups never touch Elasticsearch. The snapshots are rebuilt at startup and after every sync
+ * that changed the index, and published with a single volatile write; if a rebuild fails the
+ * previous snapshots keep serving.
+ */
+@Service
+@Slf4j
+public class SuggestionService {
+
+    public static final String TYPE_TITLE = "title";
+    public static final String TYPE_COMPANY = "company";
+    public static final String TYPE_SKILL = "skill";
+
+    private static final String ALL_TYPES = "";
+
+    // Suggestion type and the keyword field its values come from
+    private static final Map<String, String> SOURCES = Map.of(
+            TYPE_TITLE, "title.keyword",
+            TYPE_COMPANY, "company.keyword",
+            TYPE_SKILL, "skills");
+
+    @Autowired
+    private ElasticsearchClient elasticsearchClient;
+
+    @Autowired
+    private JobIndexManager jobIndexManager;
+
+    @Value("${jobseek.suggest.page-size:1000}")
+    private int pageSize;
+
+    @Value("${jobseek.suggest.max-values-per-type:200000}")
+    private int maxValuesPerType;
+
+    private volatile Map<String, SuggestionIndex> indexes = Map.of();
+
+    /**
+     * @param type {@code title}, {@code company}, {@code skill}, or null for all of them
+     */
+    public List<Suggestion> suggest(String prefix, String type, int limit) {
+        SuggestionIndex index = indexes.get(type == null ? ALL_TYPES : type);
+        return index == null ? List.of() : index.suggest(prefix, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @EventListener
+    public void onIndexChanged(JobIndexChangedEvent event) {
+        rebuild();
+    }
+
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            Map<String, SuggestionIndex> rebuilt = new HashMap<>();
+            List<Suggestion> all = new ArrayList<>();
+            for (Map.Entry<String, String> source : SOURCES.entrySet()) {
+                List<Suggestion> values = readValues(source.getValue(), source.getKey());
+                rebuilt.put(source.getKey(), SuggestionIndex.build(values));
+                all.addAll(values);
+            }
+            rebuilt.put(ALL_TYPES, SuggestionIndex.build(all));
+            indexes = rebuilt;
+            log.info("Suggestion index rebuilt with {} values in {}ms",
+                    all.size(), System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            log.error("Suggestion index rebuild failed, keeping previous version: {}", e.getMessage());
+        }
+    }
+
+    // Pages through every distinct value of a field with its document count
+    private List<Suggestion> readValues(String field, String type) throws IOException {
+        List<Suggestion> values = new ArrayList<>();
+        Map<String, FieldValue> after = null;
+        do {
+            Map<String, FieldValue> from = after;
+            SearchResponse<Void> response = elasticsearchClient.search(s -> s
+                    .index(jobIndexManager.alias())
+                    .size(0)
+                    .aggregations("values", a -> a.composite(c -> {
+                        c.size(pageSize)
+                                .sources(List.of(Map.of("value", CompositeAggregationSource.of(cs -> cs.terms(t -> t.field(field))))));
+                        return from == null ? c : c.after(from);
+                    })), Void.class);
+
+            CompositeAggregate composite = response.aggregations().get("values").composite();
+            List<CompositeBucket> buckets = composite.buckets().array();
+            for (CompositeBucket bucket : buckets) {
+                values.add(new Suggestion(bucket.key().get("value").stringValue(), type, bucket.docCount()));
+            }
+            after = buckets.size() < pageSize ? null : composite.afterKey();
+        } while (after != null && values.size() < maxValuesPerType);
+        return values;
+    }
+}
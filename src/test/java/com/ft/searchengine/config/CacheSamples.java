@@ -0,0 +1,47 @@
+package com.ft.searchengine.config;
+
+import com.ft.searchengine.dto.JobSearchResponse;
+import com.ft.searchengine.dto.JobSummary;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// A result page shaped like real traffic: list entries with highlighted snippets and a few repeated values
+final class CacheSamples {
+
+    private static final String[] WORDS = {
+            "team", "customer", "service", "experience", "manage", "support", "develop", "growth",
+            "benefits", "schedule", "training", "responsible", "communication", "quality", "safety"
+    };
+    private static final String[] LOCATIONS = {"Austin, TX", "Remote", "New York, NY", "Seattle, WA"};
+    private static final String[] LEVELS = {"Entry", "Mid", "Senior"};
+
+    private CacheSamples() {
+    }
+
+    static JobSearchResponse searchPage(int jobs, int snippetLength) {
+        Random random = new Random(42);
+        List<JobSummary> results = new ArrayList<>();
+        for (int i = 0; i < jobs; i++) {
+            StringBuilder snippet = new StringBuilder(snippetLength);
+            while (snippet.length() < snippetLength) {
+                snippet.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            results.add(new JobSummary(
+                    String.valueOf(1000 + i),
+                    "Customer Service Representative " + i,
+                    "Company " + random.nextInt(50),
+                    LOCATIONS[random.nextInt(LOCATIONS.length)],
+                    40000 + random.nextInt(20000),
+                    60000 + random.nextInt(40000),
+                    LEVELS[random.nextInt(LEVELS.length)],
+                    List.of("Customer Service", "Communication", "Excel"),
+                    LocalDateTime.of(2025, 1, 1, 9, 30).plusHours(i),
+                    "https://example.com/jobs/" + i,
+                    snippet.toString()));
+        }
+        return new JobSearchResponse(results, 1234, 0, 62, jobs, 12, false, null, null);
+    }
+}
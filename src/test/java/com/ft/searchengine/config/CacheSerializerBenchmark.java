@@ -0,0 +1,81 @@
+package com.ft.searchengine.config;
+
+import com.ft.searchengine.dto.JobSearchResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode time of one cached search page in each cache value format; {@link #main} also
+ * prints the bytes per entry.
+ * <p>
+ * Run with (the forked benchmark JVM needs the test classpath, which {@code exec:java} does not pass on):
+ * <pre>
+ * ./mvnw test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) com.ft.searchengine.config.CacheSerializerBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"json", "smile", "smile-deflate"})
+    public String format;
+
+    private RedisSerializer<Object> serializer;
+    private JobSearchResponse response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        serializer = serializer(format);
+        response = CacheSamples.searchPage(20, 150);
+        encoded = serializer.serialize(response);
+    }
+
+    private static RedisSerializer<Object> serializer(String format) {
+        return "json".equals(format)
+                ? new GenericJackson2JsonRedisSerializer(new RedisConfig().redisObjectMapper())
+                : new CompactCacheSerializer(CompactCacheSerializer.formatOf(format));
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(response);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        JobSearchResponse sample = CacheSamples.searchPage(20, 150);
+        for (String format : new String[]{"json", "smile", "smile-deflate"}) {
+            System.out.printf("%-14s %,8d bytes per entry%n", format, serializer(format).serialize(sample).length);
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(CacheSerializerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
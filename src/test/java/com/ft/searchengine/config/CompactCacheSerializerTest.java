@@ -0,0 +1,50 @@
+package com.ft.searchengine.config;
+
+import com.ft.searchengine.dto.JobSearchResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactCacheSerializerTest {
+
+    @Test
+    void roundTripsSearchResponsesInBothFormats() {
+        JobSearchResponse response = CacheSamples.searchPage(20, 150);
+
+        for (byte format : new byte[]{CompactCacheSerializer.SMILE, CompactCacheSerializer.SMILE_DEFLATE}) {
+            CompactCacheSerializer serializer = new CompactCacheSerializer(format);
+            byte[] bytes = serializer.serialize(response);
+
+            assertEquals(format, bytes[0]);
+            assertEquals(response, serializer.deserialize(bytes));
+        }
+    }
+
+    @Test
+    void readsEitherFormatWhateverItWrites() {
+        JobSearchResponse response = CacheSamples.searchPage(3, 100);
+        byte[] deflated = new CompactCacheSerializer(CompactCacheSerializer.SMILE_DEFLATE).serialize(response);
+
+        assertEquals(response, new CompactCacheSerializer(CompactCacheSerializer.SMILE).deserialize(deflated));
+    }
+
+    @Test
+    void treatsEntriesFromTheJsonSerializerAsMisses() {
+        JobSearchResponse response = CacheSamples.searchPage(3, 100);
+        byte[] json = new GenericJackson2JsonRedisSerializer(new RedisConfig().redisObjectMapper()).serialize(response);
+
+        assertNull(new CompactCacheSerializer(CompactCacheSerializer.SMILE).deserialize(json));
+    }
+
+    @Test
+    void isSmallerThanJson() {
+        JobSearchResponse response = CacheSamples.searchPage(20, 150);
+        int json = new GenericJackson2JsonRedisSerializer(new RedisConfig().redisObjectMapper()).serialize(response).length;
+        int deflated = new CompactCacheSerializer(CompactCacheSerializer.SMILE_DEFLATE).serialize(response).length;
+
+        assertTrue(deflated * 2 < json, "deflated " + deflated + " bytes vs json " + json);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ft.searchengine.dedup;
+
+import com.ft.searchengine.entity.Job;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobFingerprintTest {
+
+    private static Job job(String title, String company, String location, String jobUrl) {
+        Job job = new Job();
+        job.setTitle(title);
+        job.setCompany(company);
+        job.setLocation(location);
+        job.setJobUrl(jobUrl);
+        job.setDescription("Build services in Java");
+        job.setSkills(List.of("Java", "Docker"));
+        job.setMinSalary(90000);
+        job.setIsActive(true);
+        return job;
+    }
+
+    @Test
+    void identityIgnoresCaseWhitespaceAndUrlFragment() {
+        String fingerprint = JobFingerprint.identity(job("Java Developer", "TechCorp", "Austin, TX",
+                "https://example.com/jobs/42"));
+
+        assertEquals(64, fingerprint.length());
+        assertEquals(fingerprint, JobFingerprint.identity(job("  java   DEVELOPER ", "techcorp", "Austin,  TX",
+                "https://example.com/jobs/42/#apply")));
+        assertNotEquals(fingerprint, JobFingerprint.identity(job("Java Developer", "TechCorp", "Austin, TX",
+                "https://example.com/jobs/43")));
+        // Fields are delimited, so moving text from one field into the next changes the fingerprint
+        assertNotEquals(JobFingerprint.identity(job("Java", "Developer TechCorp", null, null)),
+                JobFingerprint.identity(job("Java Developer", "TechCorp", null, null)));
+    }
+
+    @Test
+    void contentHashTracksEverythingButIdentityAndPostedDate() {
+        Job original = job("Java Developer", "TechCorp", "Austin, TX", null);
+        Job reordered = job("Java Developer", "TechCorp", "Austin, TX", null);
+        reordered.setSkills(List.of("Docker", "Java"));
+        Job raised = job("Java Developer", "TechCorp", "Austin, TX", null);
+        raised.setMinSalary(95000);
+
+        assertEquals(JobFingerprint.content(original), JobFingerprint.content(reordered));
+        assertNotEquals(JobFingerprint.content(original), JobFingerprint.content(raised));
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(JobFingerprint.identity(job("Title " + i, "Company", null, null)));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(JobFingerprint.identity(job("Title " + i, "Company", null, null))));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(JobFingerprint.identity(job("Other " + i, "Company", null, null)))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
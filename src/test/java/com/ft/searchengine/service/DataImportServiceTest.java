@@ -0,0 +1,96 @@
+package com.ft.searchengine.service;
+
+import com.ft.searchengine.entity.Job;
+import com.ft.searchengine.repository.JobBatchRepository;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DataImportServiceTest {
+
+    private final JobCsvParser jobCsvParser = mock(JobCsvParser.class);
+    private final JobBatchRepository jobBatchRepository = mock(JobBatchRepository.class);
+    private final ThreadPoolTaskExecutor parserExecutor = new ThreadPoolTaskExecutor();
+    private final DataImportService service = new DataImportService();
+
+    @BeforeEach
+    void setUp() {
+        parserExecutor.setCorePoolSize(2);
+        parserExecutor.setMaxPoolSize(2);
+        parserExecutor.initialize();
+
+        // The import runs on the calling thread, so submitImport returns once it has finished
+        ReflectionTestUtils.setField(service, "jobCsvParser", jobCsvParser);
+        ReflectionTestUtils.setField(service, "jobBatchRepository", jobBatchRepository);
+        ReflectionTestUtils.setField(service, "importTaskExecutor", new SyncTaskExecutor());
+        ReflectionTestUtils.setField(service, "importParserExecutor", parserExecutor);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1000);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+
+        when(jobBatchRepository.upsertAll(anyList(), anyBoolean()))
+                .thenAnswer(invocation -> new JobBatchRepository.WriteCounts(
+                        invocation.<List<Job>>getArgument(0).size(), 0, 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        parserExecutor.shutdown();
+    }
+
+    private static MockMultipartFile csv(int rows) {
+        StringBuilder content = new StringBuilder("title,company_name\n");
+        for (int i = 0; i < rows; i++) {
+            content.append(i % 2 == 0 ? "Engineer " + i : "").append(",Acme\n");
+        }
+        return new MockMultipartFile("file", "jobs.csv", "text/csv", content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Job parse(CSVRecord record) {
+        Job job = new Job();
+        job.setTitle(record.get("title"));
+        job.setCompany(record.get("company_name"));
+        return job;
+    }
+
+    @Test
+    void importsValidRowsAcrossChunksAndCountsInvalidOnes() throws Exception {
+        when(jobCsvParser.parseJob(any())).thenAnswer(invocation -> parse(invocation.getArgument(0)));
+
+        DataImportService.ImportResult result = service.submitImport(csv(1201));
+
+        assertEquals(DataImportService.ImportStatus.COMPLETED, result.getStatus());
+        assertEquals(1201, result.getRowsRead());
+        assertEquals(601, result.getSuccessCount());
+        assertEquals(600, result.getErrorCount());
+    }
+
+    @Test
+    void anErrorInAParserFailsTheImportInsteadOfHangingIt() {
+        when(jobCsvParser.parseJob(any())).thenThrow(new StackOverflowError("boom"));
+
+        DataImportService.ImportResult result = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> service.submitImport(csv(5000)));
+
+        assertEquals(DataImportService.ImportStatus.FAILED, result.getStatus());
+        verify(jobBatchRepository, never()).upsertAll(anyList(), anyBoolean());
+    }
+}
@@ -0,0 +1,65 @@
+package com.ft.searchengine.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.ErrorResponse;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.util.ObjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobBulkIndexerTest {
+
+    private final ElasticsearchClient client = mock(ElasticsearchClient.class);
+
+    private JobBulkIndexer indexer(int maxInFlight) {
+        JobBulkIndexer indexer = new JobBulkIndexer(maxInFlight);
+        ReflectionTestUtils.setField(indexer, "elasticsearchClient", client);
+        ReflectionTestUtils.setField(indexer, "maxActions", 1000);
+        ReflectionTestUtils.setField(indexer, "maxBytes", 5_242_880L);
+        ReflectionTestUtils.setField(indexer, "maxRetries", 5);
+        ReflectionTestUtils.setField(indexer, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(indexer, "refresh", "false");
+        return indexer;
+    }
+
+    private static Function<BulkRequest.Builder, ObjectBuilder<BulkRequest>> anyRequest() {
+        return any();
+    }
+
+    @Test
+    void timeLimitStopsTheWaitForABulkSlot() throws IOException {
+        JobBulkIndexer indexer = indexer(0);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertThrows(IOException.class,
+                () -> indexer.indexAlias("jobs", List.of(), List.of("1"), Duration.ofMillis(50))));
+        verify(client, never()).bulk(anyRequest());
+    }
+
+    @Test
+    void timeLimitStopsTheBackoffAfterA429() throws IOException {
+        when(client.bulk(anyRequest())).thenThrow(new ElasticsearchException("bulk", ErrorResponse.of(e -> e
+                .status(429)
+                .error(c -> c.type("es_rejected_execution_exception").reason("queue is full")))));
+        JobBulkIndexer indexer = indexer(1);
+
+        // Five retries from a 1s backoff would take well over ten seconds without the limit
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertThrows(IOException.class,
+                () -> indexer.indexAlias("jobs", List.of(), List.of("1"), Duration.ofMillis(200))));
+        verify(client, atLeastOnce()).bulk(anyRequest());
+    }
+}
@@ -0,0 +1,60 @@
+package com.ft.searchengine.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobIndexManagerTest {
+
+    @Test
+    void createIndexSendsOneShardCountAlongsideTheDocumentSettings() {
+        // The real template, so the settings come from @Setting and elasticsearch-settings.json as in production
+        ElasticsearchTransport transport = mock(ElasticsearchTransport.class);
+        when(transport.jsonpMapper()).thenReturn(new JacksonJsonpMapper());
+        ElasticsearchTemplate operations = spy(new ElasticsearchTemplate(new ElasticsearchClient(transport)));
+        IndexOperations target = mock(IndexOperations.class);
+        doReturn(target).when(operations).indexOps(any(IndexCoordinates.class));
+
+        JobIndexManager manager = new JobIndexManager();
+        ReflectionTestUtils.setField(manager, "elasticsearchOperations", operations);
+        manager.createIndex("jobs_v2", 3);
+
+        ArgumentCaptor<Map<String, Object>> sent = ArgumentCaptor.captor();
+        verify(target).create(sent.capture(), any(Document.class));
+        Map<String, Object> settings = sent.getValue();
+
+        assertFalse(settings.containsKey("index"), "nested and dotted settings would both be sent: " + settings);
+        assertEquals("3", settings.get("index.number_of_shards"));
+        assertEquals("postedDate", settings.get("index.sort.field"));
+        assertEquals("best_compression", settings.get("index.codec"));
+        assertEquals(1, settings.keySet().stream().filter(key -> key.endsWith("number_of_shards")).count());
+    }
+
+    @Test
+    void withShardsReplacesTheNestedShardCount() {
+        Settings settings = Settings.parse("{\"index\":{\"number_of_shards\":\"1\",\"refresh_interval\":\"1s\"}}");
+
+        Settings sized = JobIndexManager.withShards(settings, 5);
+
+        assertEquals(Map.of("index.number_of_shards", "5", "index.refresh_interval", "1s"), Map.copyOf(sized));
+    }
+}
@@ -0,0 +1,166 @@
+package com.ft.searchengine.service;
+
+import com.ft.searchengine.document.JobDocument;
+import com.ft.searchengine.dto.CachedSearchResult;
+import com.ft.searchengine.dto.JobSearchRequest;
+import com.ft.searchengine.dto.JobSearchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.HighlightQuery;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobSearchServiceTest {
+
+    private final ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+    private final JobSearchService service = new JobSearchService();
+
+    private final CountDownLatch searchStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseSearch = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        // Nothing is ever cached, so a caller that did not join the running search would query again
+        ReflectionTestUtils.setField(service, "elasticsearchOperations", operations);
+        ReflectionTestUtils.setField(service, "searchRequestNormalizer", new SearchRequestNormalizer());
+        ReflectionTestUtils.setField(service, "cacheManager", new NoOpCacheManager());
+        ReflectionTestUtils.setField(service, "searchRefreshExecutor", new SyncTaskExecutor());
+    }
+
+    private void blockSearchThen(Runnable outcome) {
+        SearchHits<JobDocument> hits = mock();
+        when(hits.getSearchHits()).thenReturn(List.of());
+        when(operations.search(any(Query.class), eq(JobDocument.class))).thenAnswer(invocation -> {
+            searchStarted.countDown();
+            releaseSearch.await(5, TimeUnit.SECONDS);
+            outcome.run();
+            return hits;
+        });
+    }
+
+    private static JobSearchRequest request() {
+        JobSearchRequest request = new JobSearchRequest();
+        request.setKeyword("Java");
+        return request;
+    }
+
+    // The second caller is parked in join() once its thread is waiting
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(Thread.State.WAITING, thread.getState());
+    }
+
+    @Test
+    void concurrentIdenticalSearchesQueryElasticsearchOnce() throws Exception {
+        blockSearchThen(() -> {
+        });
+
+        CompletableFuture<JobSearchResponse> first = new CompletableFuture<>();
+        CompletableFuture<JobSearchResponse> second = new CompletableFuture<>();
+        Thread firstCaller = new Thread(() -> first.complete(service.searchJobs(request())));
+        firstCaller.start();
+        assertTrue(searchStarted.await(5, TimeUnit.SECONDS));
+
+        JobSearchRequest sameSearch = request();
+        sameSearch.setKeyword("  JAVA ");
+        Thread secondCaller = new Thread(() -> second.complete(service.searchJobs(sameSearch)));
+        secondCaller.start();
+        awaitWaiting(secondCaller);
+        releaseSearch.countDown();
+
+        assertEquals(0, first.get(5, TimeUnit.SECONDS).getTotalResults());
+        assertEquals(0, second.get(5, TimeUnit.SECONDS).getTotalResults());
+        verify(operations, times(1)).search(any(Query.class), eq(JobDocument.class));
+    }
+
+    @Test
+    void anErrorInTheRunningSearchReachesJoinedCallers() {
+        blockSearchThen(() -> {
+            throw new StackOverflowError("boom");
+        });
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            CompletableFuture<JobSearchResponse> first = CompletableFuture.supplyAsync(() -> service.searchJobs(request()));
+            assertTrue(searchStarted.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture<JobSearchResponse> second = new CompletableFuture<>();
+            Thread secondCaller = new Thread(() -> {
+                try {
+                    second.complete(service.searchJobs(request()));
+                } catch (Throwable e) {
+                    second.completeExceptionally(e);
+                }
+            });
+            secondCaller.start();
+            awaitWaiting(secondCaller);
+            releaseSearch.countDown();
+
+            assertInstanceOf(StackOverflowError.class, assertThrows(ExecutionException.class, first::get).getCause());
+            assertInstanceOf(StackOverflowError.class, assertThrows(ExecutionException.class, second::get).getCause());
+        });
+    }
+
+    @Test
+    void snippetsAreHtmlEncoded() {
+        SearchHits<JobDocument> hits = mock();
+        when(hits.getSearchHits()).thenReturn(List.of());
+        when(operations.search(any(Query.class), eq(JobDocument.class))).thenReturn(hits);
+        JobSearchRequest highlighted = request();
+        highlighted.setHighlight(true);
+
+        service.searchJobs(highlighted);
+
+        ArgumentCaptor<Query> sent = ArgumentCaptor.forClass(Query.class);
+        verify(operations).search(sent.capture(), eq(JobDocument.class));
+        HighlightQuery highlight = sent.getValue().getHighlightQuery().orElseThrow();
+        assertEquals("html", highlight.getHighlight().getParameters().getEncoder());
+    }
+
+    @Test
+    void earlyRefreshOnlyNearExpiryAndSoonerForSlowQueries() {
+        long ttlMs = 300_000;
+        CachedSearchResult fast = new CachedSearchResult(null, 0, 10);
+        CachedSearchResult slow = new CachedSearchResult(null, 0, 2_000);
+
+        // Fresh entries are left alone even by the unluckiest draw
+        assertFalse(JobSearchService.shouldRefreshEarly(slow, 1_000, ttlMs, 1.0, 1e-9));
+        // Expired entries always refresh
+        assertTrue(JobSearchService.shouldRefreshEarly(fast, ttlMs, ttlMs, 1.0, 0.99));
+
+        // Five seconds before expiry with the same draw: only the slow query refreshes
+        long now = ttlMs - 5_000;
+        double draw = 0.01;
+        assertFalse(JobSearchService.shouldRefreshEarly(fast, now, ttlMs, 1.0, draw));
+        assertTrue(JobSearchService.shouldRefreshEarly(slow, now, ttlMs, 1.0, draw));
+        // Beta 0 turns early refresh off
+        assertFalse(JobSearchService.shouldRefreshEarly(slow, now, ttlMs, 0, draw));
+    }
+}
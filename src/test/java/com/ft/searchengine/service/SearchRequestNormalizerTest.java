@@ -0,0 +1,100 @@
+package com.ft.searchengine.service;
+
+import com.ft.searchengine.dto.JobSearchRequest;
+import com.ft.searchengine.skill.SkillDictionary;
+import com.ft.searchengine.skill.SkillDictionaryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SearchRequestNormalizerTest {
+
+    private final SearchRequestNormalizer normalizer = new SearchRequestNormalizer();
+
+    SearchRequestNormalizerTest() {
+        SkillDictionaryService skills = mock(SkillDictionaryService.class);
+        when(skills.current()).thenReturn(SkillDictionary.of(Map.of("Kubernetes", List.of("k8s"), "Java", List.of())));
+        ReflectionTestUtils.setField(normalizer, "skillDictionaryService", skills);
+    }
+
+    private static JobSearchRequest request(String keyword, List<String> skills) {
+        JobSearchRequest request = new JobSearchRequest();
+        request.setKeyword(keyword);
+        request.setSkills(skills);
+        return request;
+    }
+
+    @Test
+    void equivalentRequestsShareACacheKey() {
+        JobSearchRequest a = normalizer.normalize(request("  Senior   JAVA ", List.of("k8s", "java")));
+        JobSearchRequest b = normalizer.normalize(request("senior java", List.of("Java", "Kubernetes")));
+
+        assertEquals("senior java", a.getKeyword());
+        assertEquals(List.of("Java", "Kubernetes"), a.getSkills());
+        assertEquals(normalizer.cacheKey(a), normalizer.cacheKey(b));
+    }
+
+    @Test
+    void fillsDefaultsAndClampsPaging() {
+        JobSearchRequest blank = request("   ", List.of());
+        blank.setPage(-3);
+        blank.setSize(10_000);
+        blank.setLocation("  ");
+        blank.setHighlight(true);
+
+        JobSearchRequest normalized = normalizer.normalize(blank);
+
+        assertNull(normalized.getKeyword());
+        assertNull(normalized.getSkills());
+        assertNull(normalized.getLocation());
+        assertEquals(0, normalized.getPage());
+        assertEquals(SearchRequestNormalizer.MAX_SIZE, normalized.getSize());
+        // Nothing to highlight without a keyword
+        assertFalse(normalized.getHighlight());
+        assertEquals("desc", normalized.getSortOrder());
+    }
+
+    @Test
+    void unknownSortFallsBackToTheDefaultForTheSearch() {
+        JobSearchRequest withKeyword = request("java", null);
+        withKeyword.setSortBy("drop table");
+        JobSearchRequest withoutKeyword = request(null, null);
+        withoutKeyword.setSortBy(SearchRequestNormalizer.SORT_RELEVANCE);
+
+        assertEquals(SearchRequestNormalizer.SORT_RELEVANCE, normalizer.normalize(withKeyword).getSortBy());
+        // No score to sort on without a keyword
+        assertEquals(SearchRequestNormalizer.DEFAULT_SORT_BY, normalizer.normalize(withoutKeyword).getSortBy());
+    }
+
+    @Test
+    void facetKeyIgnoresPagingAndSortButNotFilters() {
+        JobSearchRequest first = normalizer.normalize(request("java", null));
+        JobSearchRequest later = request("java", null);
+        later.setPage(4);
+        later.setSortBy("minSalary");
+        later = normalizer.normalize(later);
+        JobSearchRequest remote = request("java", null);
+        remote.setLocation("Remote");
+        remote = normalizer.normalize(remote);
+
+        assertEquals(normalizer.facetKey(first), normalizer.facetKey(later));
+        assertNotEquals(normalizer.cacheKey(first), normalizer.cacheKey(later));
+        assertNotEquals(normalizer.facetKey(first), normalizer.facetKey(remote));
+    }
+
+    @Test
+    void normalizingTwiceChangesNothing() {
+        JobSearchRequest once = normalizer.normalize(request(" Java  Developer", List.of("K8S")));
+
+        assertEquals(normalizer.cacheKey(once), normalizer.cacheKey(normalizer.normalize(once)));
+    }
+}
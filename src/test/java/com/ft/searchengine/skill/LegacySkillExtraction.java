@@ -0,0 +1,196 @@
+package com.ft.searchengine.skill;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The skill extraction code as it was before {@link SkillExtractor}, kept verbatim as the
+ * reference for the parity test and the benchmark baseline.
+ */
+final class LegacySkillExtraction {
+
+    static final String[] UNIVERSAL_SKILLS = {
+
+            "Communication", "Leadership", "Teamwork", "Problem Solving", "Time Management",
+            "Organization", "Attention to Detail", "Customer Service", "Multitasking",
+            "Critical Thinking", "Adaptability", "Collaboration", "Creativity",
+
+
+            "Microsoft Office", "Excel", "Word", "PowerPoint", "Email", "Scheduling",
+            "Data Entry", "Filing", "Phone Skills", "Calendar Management",
+
+            // Sales/Marketing
+            "Sales", "Marketing", "Social Media", "Advertising", "Cold Calling",
+            "Negotiation", "Presentation", "Client Relations", "Account Management",
+
+            // HR/Recruiting
+            "Recruiting", "Interviewing", "Onboarding", "HR", "Benefits", "Payroll",
+            "Employee Relations", "Training", "Performance Management",
+
+            // Customer Service
+            "Customer Support", "Help Desk", "Client Relations", "Complaint Resolution",
+            "Call Center", "Chat Support", "Email Support",
+
+            // Healthcare
+            "Patient Care", "Medical Records", "HIPAA", "CPR", "First Aid",
+            "Clinical", "Nursing", "Pharmaceutical", "Diagnosis", "Treatment",
+
+            // Transportation/Logistics
+            "Driving", "CDL", "Delivery", "Route Planning", "GPS", "Vehicle Maintenance",
+            "Logistics", "Supply Chain", "Inventory", "Warehouse",
+
+            // Hospitality
+            "Customer Service", "Food Service", "Bartending", "Housekeeping",
+            "Front Desk", "Reservations", "POS Systems", "Cash Handling",
+
+            // Retail
+            "Cash Register", "POS", "Inventory Management", "Visual Merchandising",
+            "Stocking", "Loss Prevention", "Product Knowledge", "Upselling",
+
+            // Manufacturing
+            "Assembly", "Quality Control", "Machine Operation", "Forklift",
+            "Safety Procedures", "Production", "Packaging", "Inspection",
+
+            // Finance/Accounting
+            "Accounting", "Bookkeeping", "QuickBooks", "Financial Analysis",
+            "Budgeting", "Tax Preparation", "Auditing", "Accounts Payable",
+
+            // Education
+            "Teaching", "Curriculum Development", "Classroom Management",
+            "Lesson Planning", "Student Assessment", "Tutoring", "Mentoring",
+
+            // Tech (basic - not just programming)
+            "Computer Skills", "Typing", "Internet", "Basic Troubleshooting",
+            "Software", "Hardware", "Windows", "Mac", "Mobile Devices",
+
+            // Legal
+            "Legal Research", "Contract Review", "Compliance", "Documentation",
+            "Litigation", "Paralegal", "Case Management",
+
+            // Creative
+            "Graphic Design", "Photography", "Video Editing", "Writing",
+            "Copywriting", "Content Creation", "Adobe", "Photoshop", "Illustrator",
+
+            // General Professional
+            "Project Management", "Report Writing", "Meeting Facilitation",
+            "Vendor Management", "Budget Management", "Process Improvement"
+    };
+
+    private LegacySkillExtraction() {
+    }
+
+    static List<String> extractSkills(String skillsDesc) {
+        List<String> skills = new ArrayList<>();
+
+        if (skillsDesc == null || skillsDesc.isEmpty()) {
+            return skills;
+        }
+
+
+        String[] parts = skillsDesc.split("[,;|\\n\\r]+");
+
+        for (String part : parts) {
+            String cleaned = part.trim();
+
+
+            if (cleaned.length() >= 2 && cleaned.length() <= 50) {
+
+                cleaned = capitalizeFirstLetter(cleaned);
+                skills.add(cleaned);
+
+
+                if (skills.size() >= 15) break;
+            }
+        }
+
+        return skills;
+    }
+
+
+    static List<String> extractSkillsFromDescription(String description) {
+        List<String> skills = new ArrayList<>();
+
+        if (description == null || description.isEmpty()) {
+            return skills;
+        }
+
+
+        String[] skillIndicators = {
+                "experience with", "proficient in", "knowledge of", "skilled in",
+                "expertise in", "familiar with", "competent in", "strong in",
+                "ability to", "experience in", "background in", "understanding of",
+                "must know", "required:", "requirements:", "qualifications:",
+                "skills:", "abilities:", "competencies:"
+        };
+
+        String lowerDesc = description.toLowerCase();
+
+
+        for (String indicator : skillIndicators) {
+            int index = lowerDesc.indexOf(indicator);
+            if (index != -1) {
+
+                int endIndex = Math.min(index + indicator.length() + 200, description.length());
+                String skillSection = description.substring(index + indicator.length(), endIndex);
+
+
+                String[] parts = skillSection.split("[,;.\\n\\r]+");
+
+                for (String part : parts) {
+                    String cleaned = part.trim();
+
+
+                    if (cleaned.length() >= 3 && cleaned.length() <= 50) {
+                        // Remove common filler words from the start
+                        cleaned = cleaned.replaceFirst("^(and|or|the|a|an|in|with|using)\\s+", "");
+                        cleaned = capitalizeFirstLetter(cleaned.trim());
+
+                        if (cleaned.length() >= 3 && !skills.contains(cleaned)) {
+                            skills.add(cleaned);
+                            if (skills.size() >= 10) return skills;
+                        }
+                    }
+                }
+            }
+        }
+
+
+        if (skills.isEmpty()) {
+            skills = extractCommonJobTerms(description);
+        }
+
+        return skills;
+    }
+
+
+    static List<String> extractCommonJobTerms(String description) {
+        List<String> terms = new ArrayList<>();
+
+        if (description == null || description.isEmpty()) {
+            return terms;
+        }
+
+
+
+        String lowerDesc = description.toLowerCase();
+
+        for (String skill : UNIVERSAL_SKILLS) {
+            if (lowerDesc.contains(skill.toLowerCase())) {
+                if (!terms.contains(skill)) {
+                    terms.add(skill);
+                    if (terms.size() >= 10) break;
+                }
+            }
+        }
+
+        return terms;
+    }
+
+
+    private static String capitalizeFirstLetter(String str) {
+        if (str == null || str.isEmpty()) {
+            return str;
+        }
+        return str.substring(0, 1).toUpperCase() + str.substring(1);
+    }
+}
@@ -0,0 +1,49 @@
+package com.ft.searchengine.skill;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SkillDictionaryTest {
+
+    private static SkillDictionary parse(String text) throws IOException {
+        return SkillDictionary.parse(new BufferedReader(new StringReader(text)));
+    }
+
+    @Test
+    void canonicalizesSynonymsIgnoringCaseAndWhitespace() throws IOException {
+        SkillDictionary dictionary = parse("""
+                # comment
+                Kubernetes = k8s, kube
+                Problem Solving
+                """);
+
+        assertEquals("Kubernetes", dictionary.canonicalize("K8S"));
+        assertEquals("Kubernetes", dictionary.canonicalize(" kubernetes "));
+        assertEquals("Problem Solving", dictionary.canonicalize("problem   SOLVING"));
+        assertNull(dictionary.canonicalize("kubectl"));
+        assertNull(dictionary.canonicalize("Problem"));
+    }
+
+    @Test
+    void normalizeKeepsUnknownSkillsAndDropsCollapsedDuplicates() throws IOException {
+        SkillDictionary dictionary = parse("Kubernetes = k8s\nExcel = MS Excel\n");
+
+        assertEquals(List.of("Kubernetes", "Terraform", "Excel"),
+                dictionary.normalize(List.of("k8s", "Terraform", "Kubernetes", "ms excel")));
+    }
+
+    @Test
+    void findTermsReturnsCanonicalNamesInDictionaryOrder() throws IOException {
+        SkillDictionary dictionary = parse("Excel\nKubernetes = k8s\nHR = Human Resources\n");
+
+        assertEquals(List.of("Kubernetes", "HR"),
+                dictionary.findTerms("Human Resources team running K8s clusters", 10));
+    }
+}
@@ -0,0 +1,96 @@
+package com.ft.searchengine.skill;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link SkillExtractor} with the pre-automaton code on synthetic job descriptions.
+ * <p>
+ * Run with (the forked benchmark JVM needs the test classpath, which {@code exec:java} does not pass on):
+ * <pre>
+ * ./mvnw test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test-classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) com.ft.searchengine.skill.SkillExtractorBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkillExtractorBenchmark {
+
+    private static final String[] FILLER = {
+            "our team", "is growing", "and we are looking for", "a motivated person", "who enjoys",
+            "working in a fast-paced environment", "with great benefits", "competitive pay", "on site",
+            "full time", "paid time off", "dental", "401k", "flexible schedule"
+    };
+
+    // "indicator": descriptions hit an indicator phrase; "dictionary": they fall back to the skill list
+    @Param({"indicator", "dictionary"})
+    public String shape;
+
+    private final SkillDictionary dictionary =
+            SkillDictionary.of(Arrays.asList(LegacySkillExtraction.UNIVERSAL_SKILLS));
+    private final SkillExtractor extractor = new SkillExtractor(() -> dictionary);
+    private String[] descriptions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        descriptions = new String[256];
+        for (int i = 0; i < descriptions.length; i++) {
+            StringBuilder sb = new StringBuilder(3000);
+            while (sb.length() < 2500) {
+                sb.append(FILLER[random.nextInt(FILLER.length)]).append(' ');
+                if (random.nextInt(8) == 0) {
+                    sb.append(LegacySkillExtraction.UNIVERSAL_SKILLS[random.nextInt(LegacySkillExtraction.UNIVERSAL_SKILLS.length)]);
+                    sb.append(". ");
+                }
+            }
+            if ("indicator".equals(shape)) {
+                sb.append("Requirements: Java, SQL; Excel. ");
+            }
+            descriptions[i] = sb.toString();
+        }
+    }
+
+    private String nextDescription() {
+        next = (next + 1) & (descriptions.length - 1);
+        return descriptions[next];
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        bh.consume(LegacySkillExtraction.extractSkillsFromDescription(nextDescription()));
+    }
+
+    @Benchmark
+    public void automaton(Blackhole bh) {
+        bh.consume(extractor.extractSkillsFromDescription(nextDescription()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SkillExtractorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
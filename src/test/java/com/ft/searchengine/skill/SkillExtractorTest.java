@@ -0,0 +1,57 @@
+package com.ft.searchengine.skill;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SkillExtractorTest {
+
+    private final SkillDictionary legacyDictionary =
+            SkillDictionary.of(Arrays.asList(LegacySkillExtraction.UNIVERSAL_SKILLS));
+
+    private final SkillExtractor extractor = new SkillExtractor(() -> legacyDictionary);
+
+    @Test
+    void extractsTextAfterIndicators() {
+        String description = "We need someone with Experience with Java, Spring Boot and the Kafka. Nice to have: Docker";
+
+        assertEquals(List.of("Java", "Spring Boot and the Kafka", "Nice to have: Docker"),
+                extractor.extractSkillsFromDescription(description));
+    }
+
+    @Test
+    void fallsBackToDictionaryTermsInDictionaryOrder() {
+        String description = "Busy front desk. CUSTOMER SERVICE and Excel every day, plus some payroll.";
+
+        assertEquals(List.of("Customer Service", "Excel", "Payroll", "Front Desk"),
+                extractor.extractSkillsFromDescription(description));
+    }
+
+    @Test
+    void matchesLegacyExtractionOnRandomDescriptions() {
+        List<String> vocabulary = new ArrayList<>(Arrays.asList(SkillExtractor.SKILL_INDICATORS));
+        vocabulary.addAll(Arrays.asList(LegacySkillExtraction.UNIVERSAL_SKILLS));
+        vocabulary.addAll(List.of("and ", "or ", "the ", "using ", ", ", "; ", ". ", "\n", "|", "Java", "machine", "résumé"));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int words = random.nextInt(60);
+            for (int j = 0; j < words; j++) {
+                String word = vocabulary.get(random.nextInt(vocabulary.size()));
+                sb.append(random.nextInt(4) == 0 ? word.toUpperCase() : word);
+                if (random.nextBoolean()) sb.append(' ');
+            }
+            String text = sb.toString();
+
+            assertEquals(LegacySkillExtraction.extractSkillsFromDescription(text),
+                    extractor.extractSkillsFromDescription(text), text);
+            assertEquals(LegacySkillExtraction.extractSkills(text), extractor.extractSkills(text), text);
+        }
+    }
+}
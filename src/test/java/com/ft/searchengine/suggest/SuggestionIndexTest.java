@@ -0,0 +1,59 @@
+package com.ft.searchengine.suggest;
+
+import com.ft.searchengine.dto.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestionIndexTest {
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getText).toList();
+    }
+
+    @Test
+    void matchesAnyWordStartRankedByCount() {
+        SuggestionIndex index = SuggestionIndex.build(List.of(
+                new Suggestion("Senior Software Engineer", "title", 40),
+                new Suggestion("Software Engineer", "title", 90),
+                new Suggestion("Sales Engineer", "title", 10),
+                new Suggestion("Engineering Manager", "title", 25)));
+
+        assertEquals(List.of("Software Engineer", "Senior Software Engineer", "Engineering Manager", "Sales Engineer"),
+                texts(index.suggest("ENGINEER", 10)));
+        assertEquals(List.of("Software Engineer", "Senior Software Engineer"),
+                texts(index.suggest("  software   eng", 10)));
+        assertEquals(List.of("Software Engineer"), texts(index.suggest("eng", 1)));
+        assertTrue(index.suggest("nurse", 10).isEmpty());
+        assertTrue(index.suggest(" ", 10).isEmpty());
+    }
+
+    @Test
+    void listsAnEntryOnceEvenWhenSeveralOfItsWordsMatch() {
+        SuggestionIndex index = SuggestionIndex.build(List.of(
+                new Suggestion("Java Java Developer", "title", 5),
+                new Suggestion("Java", "skill", 3)));
+
+        assertEquals(List.of("Java Java Developer", "Java"), texts(index.suggest("java", 10)));
+        assertEquals(List.of("Java Java Developer", "Java"), texts(index.suggest("j", 10)));
+    }
+
+    @Test
+    void shortPrefixesAnswerLikeAScan() {
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            suggestions.add(new Suggestion("Skill " + i, "skill", i % 37));
+        }
+        SuggestionIndex index = SuggestionIndex.build(suggestions);
+
+        // "sk" is answered from the precomputed lists, "ski" by scanning; both see the same entries
+        assertEquals(texts(index.suggest("ski", SuggestionIndex.MAX_LIMIT)),
+                texts(index.suggest("sk", SuggestionIndex.MAX_LIMIT)));
+        assertEquals(SuggestionIndex.MAX_LIMIT, index.suggest("s", 100).size());
+        assertEquals(36, index.suggest("s", 1).get(0).getCount());
+    }
+}